@@ -1,9 +1,28 @@
+import com.helger.commons.io.resource.FileSystemResource
+import com.helger.schematron.sch.SchematronResourceSCH
+import javax.xml.parsers.DocumentBuilderFactory
+import javax.xml.transform.TransformerFactory
+import javax.xml.transform.dom.DOMSource
+import javax.xml.transform.stream.StreamResult
+import org.w3c.dom.Document
+import org.checkerframework.gradle.plugin.CheckerFrameworkTaskExtension
+
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        classpath("com.helger.schematron:ph-schematron-xslt:8.0.0")
+    }
+}
+
 plugins {
     java
     id("io.quarkus") version "3.16.1"
     id("com.diffplug.spotless") version "6.25.0"
     id("com.github.spotbugs") version "6.0.15"
     id("org.checkerframework") version "0.6.44"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -22,12 +41,11 @@ dependencies {
     implementation("io.quarkus:quarkus-arc")
     implementation("io.quarkus:quarkus-smallrye-openapi")
     implementation("io.quarkus:quarkus-smallrye-health")
+    implementation("io.quarkus:quarkus-micrometer-registry-prometheus")
+    implementation("io.quarkus:quarkus-caffeine")
 
     implementation ("com.github.albfernandez:juniversalchardet:2.4.0")
-    implementation("org.glassfish.jaxb:jaxb-runtime:4.0.5")
-    implementation("com.helger.commons:ph-commons:11.1.6")
-    implementation("com.helger.schematron:ph-schematron-api:7.1.0")
-    implementation("com.helger.schematron:ph-schematron-xslt:8.0.0")
+    implementation("net.sf.saxon:Saxon-HE:12.4")
     implementation("io.quarkus:quarkus-arc")
     implementation("com.bugsnag:bugsnag:3.+")
 
@@ -76,6 +94,140 @@ checkerFramework {
     )
 }
 
+@CacheableTask
+abstract class CompileSchematronTask : SourceTask() {
+    @get:OutputDirectory
+    abstract val outputDirectory: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val outputRoot = outputDirectory.get().asFile
+
+        outputRoot.deleteRecursively()
+
+        val documentBuilderFactory = DocumentBuilderFactory.newInstance()
+        documentBuilderFactory.isNamespaceAware = true
+
+        source.visit {
+            if (isDirectory || !name.endsWith(".sch")) {
+                return@visit
+            }
+
+            // fragments like XRechnung_3.2_COMMON.sch are only pulled in via <include> and are no rule sets on their own
+            if (documentBuilderFactory.newDocumentBuilder().parse(file).documentElement.localName != "schema") {
+                return@visit
+            }
+
+            val schematron = SchematronResourceSCH(FileSystemResource(file))
+            schematron.isUseCache = false
+
+            val xsltDocument = schematron.xsltProvider?.xsltDocument
+
+            if (!schematron.isValidSchematron || xsltDocument == null) {
+                throw GradleException("Schematron $relativePath could not be compiled to XSLT")
+            }
+
+            indexCodeListLookups(xsltDocument, relativePath.pathString)
+
+            val target = relativePath.replaceLastName(name.removeSuffix(".sch") + ".xslt").getFile(outputRoot)
+            target.parentFile.mkdirs()
+
+            TransformerFactory.newInstance().newTransformer().transform(
+                DOMSource(xsltDocument),
+                StreamResult(target)
+            )
+        }
+    }
+
+    /**
+     * document('..._codedb.xml')//cl[@id=N]/enumeration[@value=$v] scans the whole code database for every checked
+     * node. codedb:contains() answers the same question from an index the validator builds once at startup. Only the
+     * expressions are rewritten, the failed assertions still report the original test. A lookup in any other shape
+     * fails the task rather than silently staying on the slow path.
+     */
+    private fun indexCodeListLookups(xsltDocument: Document, schematronPath: String) {
+        val lookup = Regex("document\\('([^']+)'\\)//cl\\[@id=(\\d+)]/enumeration\\[@value=(\\$[\\w.-]+)]")
+        val unindexedLookup = Regex("document\\([^)]*\\)\\s*//\\s*cl\\s*\\[")
+        val instructions = xsltDocument.getElementsByTagNameNS("http://www.w3.org/1999/XSL/Transform", "*")
+        var rewritten = false
+
+        for (i in 0 until instructions.length) {
+            val attributes = instructions.item(i).attributes
+
+            for (j in 0 until attributes.length) {
+                val attribute = attributes.item(j)
+                val expression = lookup.replace(attribute.nodeValue) {
+                    val (codeDb, listId, codeValue) = it.destructured
+                    "codedb:contains('$codeDb', '$listId', $codeValue)"
+                }
+
+                if (unindexedLookup.containsMatchIn(expression)) {
+                    throw GradleException(
+                        "Schematron $schematronPath looks up a code list in a shape codedb:contains() does not cover: $expression"
+                    )
+                }
+
+                if (expression != attribute.nodeValue) {
+                    attribute.nodeValue = expression
+                    rewritten = true
+                }
+            }
+        }
+
+        if (rewritten) {
+            xsltDocument.documentElement.setAttributeNS(
+                "http://www.w3.org/2000/xmlns/",
+                "xmlns:codedb",
+                "https://github.com/easybill/e-invoice-validator/codedb"
+            )
+        }
+    }
+}
+
+val compileSchematron by tasks.registering(CompileSchematronTask::class) {
+    description = "Precompiles the bundled schematron rule sets to XSLT."
+    group = "build"
+    source(fileTree("src/main/resources") {
+        include("EN16931/*.sch", "XRechnung/*.sch", "FacturX/*.sch", "Peppol/*.sch")
+    })
+    outputDirectory.set(layout.buildDirectory.dir("generated/resources/schematron"))
+}
+
+sourceSets {
+    main {
+        resources.srcDir(compileSchematron)
+    }
+}
+
+tasks.processResources {
+    exclude("**/*.sch")
+}
+
+sourceSets.named("jmh") {
+    // the benchmarks run against the sample invoices of the functional tests
+    resources.srcDir("src/test/resources")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.addAll(it.split(",")) }
+}
+
+tasks.withType<JavaCompile>().matching { it.name.contains("jmh", ignoreCase = true) }.configureEach {
+    extensions.configure<CheckerFrameworkTaskExtension> {
+        skipCheckerFramework = true
+    }
+}
+
+tasks.named("spotbugsJmh") {
+    enabled = false
+}
+
 tasks.withType<Test> {
     systemProperty("java.util.logging.manager", "org.jboss.logmanager.LogManager")
 }
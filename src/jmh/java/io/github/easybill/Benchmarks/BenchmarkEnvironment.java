@@ -0,0 +1,351 @@
+package io.github.easybill.Benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.ISchematronValidator;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Dtos.ResolvedEncoding;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.github.easybill.Exceptions.InvalidProfileException;
+import io.github.easybill.Services.AdmissionController;
+import io.github.easybill.Services.EncodingResolver;
+import io.github.easybill.Services.Metrics.ValidationMetrics;
+import io.github.easybill.Services.RuleSets.RuleProfiler;
+import io.github.easybill.Services.RuleSets.RuleSetExecutor;
+import io.github.easybill.Services.RuleSets.SchematronRuleSetRegistry;
+import io.github.easybill.Services.SchematronValidationService;
+import io.github.easybill.Services.ValidationResultCache;
+import io.github.easybill.Services.Validators.EN16931SchematronValidator;
+import io.github.easybill.Services.Validators.FacturXSchematronValidator;
+import io.github.easybill.Services.Validators.PeppolSchematronValidator;
+import io.github.easybill.Services.Validators.XRechnungSchematronValidator;
+import io.github.easybill.Services.XmlSniffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmNode;
+
+/**
+ * Wires the services of the validation pipeline without a CDI container. The
+ * stages mirror {@code SchematronValidationService}, so each of them can be
+ * measured on its own.
+ */
+final class BenchmarkEnvironment {
+
+    final EncodingResolver encodingResolver = new EncodingResolver();
+
+    final XmlSniffer xmlSniffer = new XmlSniffer();
+
+    final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules();
+
+    final SchematronRuleSetRegistry ruleSetRegistry;
+
+    final List<ISchematronValidator> validators;
+
+    final SchematronValidationService validationService;
+
+    BenchmarkEnvironment(boolean parallelPasses) {
+        this(parallelPasses, false);
+    }
+
+    BenchmarkEnvironment(boolean parallelPasses, boolean parallelLineItems) {
+        var config = new BenchmarkConfig(parallelPasses, parallelLineItems);
+        var meterRegistry = new SimpleMeterRegistry();
+        var metrics = new ValidationMetrics(meterRegistry);
+
+        ruleSetRegistry =
+            new SchematronRuleSetRegistry(
+                config,
+                metrics,
+                new RuleProfiler(config, objectMapper)
+            );
+
+        var ruleSetExecutor = new RuleSetExecutor(config, metrics);
+
+        validators =
+            List.of(
+                new EN16931SchematronValidator(
+                    ruleSetRegistry,
+                    ruleSetExecutor
+                ),
+                new XRechnungSchematronValidator(
+                    ruleSetRegistry,
+                    ruleSetExecutor
+                ),
+                new FacturXSchematronValidator(
+                    ruleSetRegistry,
+                    ruleSetExecutor
+                ),
+                new PeppolSchematronValidator(ruleSetRegistry, ruleSetExecutor)
+            );
+        validationService =
+            new SchematronValidationService(
+                new BenchmarkRouter(),
+                ruleSetRegistry,
+                xmlSniffer,
+                encodingResolver,
+                new ValidationResultCache(
+                    config,
+                    ruleSetRegistry,
+                    meterRegistry
+                ),
+                metrics,
+                new AdmissionController(config, meterRegistry)
+            );
+    }
+
+    Reader newReader(byte[] payload, ResolvedEncoding encoding) {
+        return new InputStreamReader(
+            new ByteArrayInputStream(
+                payload,
+                encoding.offset(),
+                payload.length - encoding.offset()
+            ),
+            encoding.charset()
+        );
+    }
+
+    XdmNode parse(Reader reader) throws SaxonApiException {
+        return ruleSetRegistry
+            .newDocumentBuilder()
+            .build(new StreamSource(reader));
+    }
+
+    ValidationRequest createValidationRequest(byte[] payload)
+        throws SaxonApiException {
+        var encoding = encodingResolver.resolve(payload, payload.length);
+        var sniffResult = xmlSniffer.sniff(newReader(payload, encoding));
+        var xmlProfileType = Optional
+            .ofNullable(sniffResult.xmlProfileType())
+            .orElseThrow(InvalidProfileException::new);
+
+        return new ValidationRequest(
+            sniffResult.xmlSyntaxType(),
+            xmlProfileType,
+            encoding.charset(),
+            parse(newReader(payload, encoding)),
+            ValidationMode.COMPLETE
+        );
+    }
+
+    ISchematronValidator validatorFor(ValidationRequest validationRequest) {
+        return validators
+            .stream()
+            .filter(validator ->
+                validator.supports(
+                    validationRequest.xmlProfileType(),
+                    validationRequest.xmlSyntaxType()
+                )
+            )
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private final class BenchmarkRouter implements IValidatorRouter {
+
+        @Override
+        public Optional<ISchematronValidator> route(
+            XmlProfileType xmlProfileType,
+            XMLSyntaxType xmlSyntaxType
+        ) {
+            return validators
+                .stream()
+                .filter(validator ->
+                    validator.supports(xmlProfileType, xmlSyntaxType)
+                )
+                .findFirst();
+        }
+
+        @Override
+        public List<ValidatorRoute> getRoutes() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ISchematronValidator> getValidators() {
+            return validators;
+        }
+    }
+
+    private record BenchmarkConfig(
+        boolean parallelPasses,
+        boolean parallelLineItems
+    )
+        implements IApplicationConfig {
+        /**
+         * Exceeds the threads of every benchmark, so neither the admission
+         * control nor the transformer pools make a thread wait.
+         */
+        private static final int MAX_CONCURRENT = Math.max(
+            16,
+            Runtime.getRuntime().availableProcessors()
+        );
+
+        @Override
+        public String version() {
+            return "benchmark";
+        }
+
+        @Override
+        public Exceptions exceptions() {
+            return Optional::empty;
+        }
+
+        @Override
+        public Validation validation() {
+            return new Validation() {
+                @Override
+                public boolean parallelPasses() {
+                    return parallelPasses;
+                }
+
+                @Override
+                public int batchConcurrency() {
+                    return 1;
+                }
+
+                @Override
+                public int batchMaxDocuments() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public MemorySize batchMaxSize() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public MemorySize maxPayloadSize() {
+                    // the benchmarks pass payloads that are already buffered
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int transformerPoolSize() {
+                    return MAX_CONCURRENT;
+                }
+
+                @Override
+                public ParallelLineItems parallelLineItems() {
+                    return new ParallelLineItems() {
+                        @Override
+                        public boolean enabled() {
+                            return parallelLineItems;
+                        }
+
+                        @Override
+                        public int parallelism() {
+                            return Runtime.getRuntime().availableProcessors();
+                        }
+
+                        @Override
+                        public int minLineItems() {
+                            // splits the larger invoices of the benchmarks
+                            return 100;
+                        }
+
+                        @Override
+                        public int chunkSize() {
+                            return 100;
+                        }
+                    };
+                }
+
+                @Override
+                public ResultCache cache() {
+                    return new ResultCache() {
+                        @Override
+                        public boolean enabled() {
+                            return false;
+                        }
+
+                        @Override
+                        public long maxEntries() {
+                            return 0;
+                        }
+
+                        @Override
+                        public Duration ttl() {
+                            return Duration.ZERO;
+                        }
+                    };
+                }
+
+                @Override
+                public Admission admission() {
+                    return new Admission() {
+                        @Override
+                        public int maxConcurrent() {
+                            return MAX_CONCURRENT;
+                        }
+
+                        @Override
+                        public MemorySize maxInFlightBytes() {
+                            return new MemorySize(
+                                BigInteger.valueOf(256L << 20)
+                            );
+                        }
+
+                        @Override
+                        public int maxQueued() {
+                            return Integer.MAX_VALUE;
+                        }
+
+                        @Override
+                        public Duration queueTimeout() {
+                            return Duration.ofMinutes(1);
+                        }
+
+                        @Override
+                        public Duration retryAfter() {
+                            return Duration.ZERO;
+                        }
+                    };
+                }
+
+                @Override
+                public Jobs jobs() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public WarmUp warmUp() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Profiling profiling() {
+                    return new Profiling() {
+                        @Override
+                        public boolean enabled() {
+                            return false;
+                        }
+
+                        @Override
+                        public int top() {
+                            return 0;
+                        }
+
+                        @Override
+                        public String dumpFile() {
+                            return "rule-profile.json";
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
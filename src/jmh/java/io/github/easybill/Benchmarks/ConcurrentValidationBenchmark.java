@@ -0,0 +1,89 @@
+package io.github.easybill.Benchmarks;
+
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Drives {@code SchematronValidationService#validateXml} from a growing number
+ * of threads sharing one set of services, as the request threads of the
+ * application do. Throughput should grow with the threads up to the number of
+ * cores; run with {@code -PjmhProfilers=jfr} to record where it does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentValidationBenchmark {
+
+    @Param(
+        {
+            "EN16931/EN16931_002.xml",
+            "FacturX/FacturX_001.xml",
+            "XRechnung/XRechnung_002.xml",
+        }
+    )
+    public String fixture;
+
+    private BenchmarkEnvironment environment;
+
+    private Payload payload;
+
+    @Setup
+    public void setUp() {
+        environment = new BenchmarkEnvironment(false);
+        payload = Payload.wrap(Fixtures.load(fixture));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ValidationResult threads1() throws Exception {
+        return validate();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public ValidationResult threads2() throws Exception {
+        return validate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ValidationResult threads4() throws Exception {
+        return validate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ValidationResult threads8() throws Exception {
+        return validate();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ValidationResult threads16() throws Exception {
+        return validate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ValidationResult threadsPerCore() throws Exception {
+        return validate();
+    }
+
+    private ValidationResult validate() throws Exception {
+        return environment.validationService.validateXml(
+            payload,
+            ValidationMode.COMPLETE
+        );
+    }
+}
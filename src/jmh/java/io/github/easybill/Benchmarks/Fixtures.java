@@ -0,0 +1,122 @@
+package io.github.easybill.Benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Loads the sample invoices of {@code src/test/resources} and derives
+ * synthetic invoices with an arbitrary number of line items from them.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static byte[] load(String path) {
+        try (var inputStream = Fixtures.class.getResourceAsStream("/" + path)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException(
+                    "Fixture " + path + " does not exist"
+                );
+            }
+
+            return inputStream.readAllBytes();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Replaces the line items of the given invoice with copies of its first
+     * line item. Totals are left untouched, so larger invoices report
+     * additional calculation findings, which is intended as it keeps the
+     * amount of work per line item realistic.
+     */
+    static byte[] withLineItems(byte[] invoice, int lineItems)
+        throws Exception {
+        var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(
+            "http://apache.org/xml/features/disallow-doctype-decl",
+            true
+        );
+
+        var document = factory
+            .newDocumentBuilder()
+            .parse(new ByteArrayInputStream(invoice));
+        var lines = new ArrayList<Element>();
+
+        for (var name : new String[] {
+            "IncludedSupplyChainTradeLineItem",
+            "InvoiceLine",
+            "CreditNoteLine",
+        }) {
+            var elements = document.getElementsByTagNameNS("*", name);
+
+            for (int i = 0; i < elements.getLength(); i++) {
+                lines.add((Element) elements.item(i));
+            }
+        }
+
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Invoice has no line items");
+        }
+
+        var template = lines.get(0);
+        var parent = template.getParentNode();
+        Node anchor = lines.get(lines.size() - 1).getNextSibling();
+
+        lines.forEach(parent::removeChild);
+
+        for (int i = 1; i <= lineItems; i++) {
+            var line = (Element) template.cloneNode(true);
+            var lineId = findLineId(line);
+
+            if (lineId != null) {
+                lineId.setTextContent(Integer.toString(i));
+            }
+
+            parent.insertBefore(line, anchor);
+        }
+
+        var output = new ByteArrayOutputStream();
+
+        TransformerFactory
+            .newInstance()
+            .newTransformer()
+            .transform(new DOMSource(document), new StreamResult(output));
+
+        return output.toByteArray();
+    }
+
+    private static Element findLineId(Element line) {
+        var lineIds = line.getElementsByTagNameNS("*", "LineID");
+
+        if (lineIds.getLength() > 0) {
+            return (Element) lineIds.item(0);
+        }
+
+        for (
+            var child = line.getFirstChild();
+            child != null;
+            child = child.getNextSibling()
+        ) {
+            if (
+                child instanceof Element element &&
+                "ID".equals(element.getLocalName())
+            ) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+}
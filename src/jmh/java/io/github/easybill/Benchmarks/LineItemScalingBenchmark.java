@@ -0,0 +1,53 @@
+package io.github.easybill.Benchmarks;
+
+import io.github.easybill.Dtos.ValidationResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the whole pipeline, from the raw payload to the serialized response,
+ * on synthetic invoices with a growing number of line items, with complete
+ * passes either run as a whole or split by line items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LineItemScalingBenchmark {
+
+    @Param({ "XRechnung/XRechnung_002.xml", "EN16931/EN16931_002.xml" })
+    public String baseInvoice;
+
+    @Param({ "1", "10", "100", "1000" })
+    public int lineItems;
+
+    @Param({ "false", "true" })
+    public boolean parallelLineItems;
+
+    private BenchmarkEnvironment environment;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        environment = new BenchmarkEnvironment(false, parallelLineItems);
+        payload = Fixtures.withLineItems(Fixtures.load(baseInvoice), lineItems);
+    }
+
+    @Benchmark
+    public byte[] validate() throws Exception {
+        var validationRequest = environment.createValidationRequest(payload);
+        ValidationResult validationResult = environment
+            .validatorFor(validationRequest)
+            .validate(validationRequest)
+            .orElseThrow();
+
+        return environment.objectMapper.writeValueAsBytes(validationResult);
+    }
+}
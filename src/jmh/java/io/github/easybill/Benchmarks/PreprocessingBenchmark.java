@@ -0,0 +1,67 @@
+package io.github.easybill.Benchmarks;
+
+import io.github.easybill.Dtos.ResolvedEncoding;
+import io.github.easybill.Dtos.XmlSniffResult;
+import java.util.concurrent.TimeUnit;
+import net.sf.saxon.s9api.XdmNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the stages that run before any rule set is applied: charset
+ * detection, syntax and profile detection and building the document tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PreprocessingBenchmark {
+
+    @Param(
+        {
+            "EN16931/EN16931_002.xml",
+            "EN16931/EN16931_006.xml",
+            "FacturX/FacturX_001.xml",
+            "Peppol/Peppol_004.xml",
+            "XRechnung/XRechnung_002.xml",
+            "XRechnung/XRechnung_005.xml",
+        }
+    )
+    public String fixture;
+
+    private BenchmarkEnvironment environment;
+
+    private byte[] payload;
+
+    private ResolvedEncoding encoding;
+
+    @Setup
+    public void setUp() {
+        environment = new BenchmarkEnvironment(false);
+        payload = Fixtures.load(fixture);
+        encoding =
+            environment.encodingResolver.resolve(payload, payload.length);
+    }
+
+    @Benchmark
+    public ResolvedEncoding resolveEncoding() {
+        return environment.encodingResolver.resolve(payload, payload.length);
+    }
+
+    @Benchmark
+    public XmlSniffResult sniffSyntaxAndProfile() {
+        return environment.xmlSniffer.sniff(
+            environment.newReader(payload, encoding)
+        );
+    }
+
+    @Benchmark
+    public XdmNode parse() throws Exception {
+        return environment.parse(environment.newReader(payload, encoding));
+    }
+}
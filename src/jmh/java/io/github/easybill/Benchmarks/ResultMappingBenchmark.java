@@ -0,0 +1,80 @@
+package io.github.easybill.Benchmarks;
+
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Dtos.ValidatorResults.EN16931ValidatorResult;
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the stages after the rule sets were applied: mapping a collected
+ * report to a validator result and serializing the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultMappingBenchmark {
+
+    @Param(
+        {
+            "EN16931/EN16931_002.xml",
+            "EN16931/EN16931_006.xml",
+            "FacturX/FacturX_001.xml",
+            "Peppol/Peppol_004.xml",
+            "XRechnung/XRechnung_002.xml",
+            "XRechnung/XRechnung_005.xml",
+        }
+    )
+    public String fixture;
+
+    private BenchmarkEnvironment environment;
+
+    private SchematronReport report;
+
+    private ValidationResult validationResult;
+
+    @Setup
+    public void setUp() throws Exception {
+        environment = new BenchmarkEnvironment(false);
+
+        var validationRequest = environment.createValidationRequest(
+            Fixtures.load(fixture)
+        );
+        var ruleSet =
+            switch (validationRequest.xmlSyntaxType()) {
+                case CII -> SchematronRuleSet.EN16931_CII;
+                case UBL -> SchematronRuleSet.EN16931_UBL;
+            };
+
+        report =
+            environment.ruleSetRegistry
+                .get(ruleSet)
+                .applySchematronValidation(
+                    validationRequest.document(),
+                    validationRequest.validationMode()
+                );
+        validationResult =
+            environment
+                .validatorFor(validationRequest)
+                .validate(validationRequest)
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public EN16931ValidatorResult mapReport() {
+        return EN16931ValidatorResult.of(report);
+    }
+
+    @Benchmark
+    public byte[] serializeResult() throws Exception {
+        return environment.objectMapper.writeValueAsBytes(validationResult);
+    }
+}
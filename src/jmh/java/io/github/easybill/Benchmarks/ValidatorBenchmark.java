@@ -0,0 +1,58 @@
+package io.github.easybill.Benchmarks;
+
+import io.github.easybill.Contracts.ISchematronValidator;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidationResult;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link ISchematronValidator#validate} of the validator responsible
+ * for the profile and syntax of each fixture, on an already parsed document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidatorBenchmark {
+
+    @Param(
+        {
+            "EN16931/EN16931_002.xml",
+            "EN16931/EN16931_006.xml",
+            "FacturX/FacturX_001.xml",
+            "Peppol/Peppol_004.xml",
+            "XRechnung/XRechnung_002.xml",
+            "XRechnung/XRechnung_005.xml",
+        }
+    )
+    public String fixture;
+
+    @Param({ "false", "true" })
+    public boolean parallelPasses;
+
+    private ValidationRequest validationRequest;
+
+    private ISchematronValidator validator;
+
+    @Setup
+    public void setUp() throws Exception {
+        var environment = new BenchmarkEnvironment(parallelPasses);
+
+        validationRequest =
+            environment.createValidationRequest(Fixtures.load(fixture));
+        validator = environment.validatorFor(validationRequest);
+    }
+
+    @Benchmark
+    public Optional<ValidationResult> validate() throws Exception {
+        return validator.validate(validationRequest);
+    }
+}
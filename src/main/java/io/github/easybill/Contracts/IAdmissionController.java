@@ -0,0 +1,33 @@
+package io.github.easybill.Contracts;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IAdmissionController {
+    /**
+     * Waits until a validation of a payload of the given size may run.
+     *
+     * @return a permit which has to be closed once the validation finished
+     * @throws io.github.easybill.Exceptions.AdmissionRejectedException if the
+     * service stays saturated for longer than the configured queue timeout or
+     * too many requests are already waiting
+     */
+    @NonNull
+    Permit admit(long payloadBytes);
+
+    /**
+     * Waits as long as it takes until a validation of a payload of the given
+     * size may run. Meant for callers bounding their own concurrency, which
+     * therefore neither count against the queue nor time out.
+     *
+     * @return a permit which has to be closed once the validation finished
+     * @throws io.github.easybill.Exceptions.AdmissionRejectedException if the
+     * waiting thread is interrupted
+     */
+    @NonNull
+    Permit await(long payloadBytes);
+
+    interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -3,8 +3,10 @@ package io.github.easybill.Contracts;
 import static io.smallrye.config.ConfigMapping.NamingStrategy.VERBATIM;
 
 import io.quarkus.runtime.annotations.StaticInitSafe;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithName;
+import java.time.Duration;
 import java.util.Optional;
 
 @StaticInitSafe
@@ -14,8 +16,107 @@ public interface IApplicationConfig {
 
     Exceptions exceptions();
 
+    Validation validation();
+
     interface Exceptions {
         @WithName("bugsnag-api-key")
         Optional<String> bugsnagApiKey();
     }
+
+    interface Validation {
+        @WithName("parallel-passes")
+        boolean parallelPasses();
+
+        @WithName("batch-concurrency")
+        int batchConcurrency();
+
+        @WithName("batch-max-documents")
+        int batchMaxDocuments();
+
+        @WithName("batch-max-size")
+        MemorySize batchMaxSize();
+
+        @WithName("max-payload-size")
+        MemorySize maxPayloadSize();
+
+        @WithName("transformer-pool-size")
+        int transformerPoolSize();
+
+        @WithName("parallel-line-items")
+        ParallelLineItems parallelLineItems();
+
+        ResultCache cache();
+
+        Admission admission();
+
+        Jobs jobs();
+
+        @WithName("warm-up")
+        WarmUp warmUp();
+
+        Profiling profiling();
+    }
+
+    interface ResultCache {
+        boolean enabled();
+
+        @WithName("max-entries")
+        long maxEntries();
+
+        Duration ttl();
+    }
+
+    interface ParallelLineItems {
+        boolean enabled();
+
+        int parallelism();
+
+        @WithName("min-line-items")
+        int minLineItems();
+
+        @WithName("chunk-size")
+        int chunkSize();
+    }
+
+    interface Admission {
+        @WithName("max-concurrent")
+        int maxConcurrent();
+
+        @WithName("max-in-flight-bytes")
+        MemorySize maxInFlightBytes();
+
+        @WithName("max-queued")
+        int maxQueued();
+
+        @WithName("queue-timeout")
+        Duration queueTimeout();
+
+        @WithName("retry-after")
+        Duration retryAfter();
+    }
+
+    interface WarmUp {
+        int iterations();
+    }
+
+    interface Profiling {
+        boolean enabled();
+
+        int top();
+
+        @WithName("dump-file")
+        String dumpFile();
+    }
+
+    interface Jobs {
+        int workers();
+
+        @WithName("max-pending")
+        int maxPending();
+
+        @WithName("max-pending-bytes")
+        MemorySize maxPendingBytes();
+
+        Duration ttl();
+    }
 }
@@ -0,0 +1,21 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.BatchDocument;
+import io.github.easybill.Dtos.BatchValidationResult;
+import io.smallrye.mutiny.Multi;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IBatchValidationService {
+    /**
+     * Takes the next document from the source only once one of the documents
+     * being validated is done, so a batch never holds more documents in
+     * memory than it validates at the same time.
+     *
+     * @return a stream emitting the result of every document as soon as its
+     * validation finished, hence not necessarily in the order of the documents
+     */
+    @NonNull
+    Multi<@NonNull BatchValidationResult> validate(
+        BatchDocument.@NonNull Source documents
+    );
+}
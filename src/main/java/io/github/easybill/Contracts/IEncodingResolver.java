@@ -0,0 +1,9 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.ResolvedEncoding;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IEncodingResolver {
+    @NonNull
+    ResolvedEncoding resolve(byte @NonNull [] payload, int length);
+}
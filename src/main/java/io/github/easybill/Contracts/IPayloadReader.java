@@ -0,0 +1,16 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.Payload;
+import java.io.IOException;
+import java.io.InputStream;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IPayloadReader {
+    /**
+     * @param expectedLength the announced length of the payload, or a
+     * negative value if it is unknown
+     */
+    @NonNull
+    Payload read(@NonNull InputStream inputStream, long expectedLength)
+        throws IOException;
+}
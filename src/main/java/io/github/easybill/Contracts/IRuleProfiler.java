@@ -0,0 +1,45 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.RuleProfileReport;
+import io.github.easybill.Enums.RuleProfileKind;
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.io.IOException;
+import java.nio.file.Path;
+import net.sf.saxon.lib.TraceListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Records where the schematron passes spend their time, aggregated per
+ * pattern, rule and assert across all requests. Profiling is opt-in, as the
+ * rule sets have to be compiled with tracing for it.
+ */
+public interface IRuleProfiler {
+    boolean isEnabled();
+
+    /**
+     * @return a listener for a single pass of the given rule set, which must
+     * have been compiled with tracing
+     */
+    @NonNull
+    TraceListener newTraceListener(@NonNull SchematronRuleSet ruleSet);
+
+    /**
+     * @param top the number of entries to return, the configured default if
+     * not positive
+     * @param kind restricts the entries to patterns, rules or asserts
+     * @return the most expensive entries, ordered by their total time
+     */
+    @NonNull
+    RuleProfileReport report(int top, @Nullable RuleProfileKind kind);
+
+    void reset();
+
+    /**
+     * Writes every entry recorded so far to the configured dump file.
+     *
+     * @return the file written to
+     */
+    @NonNull
+    Path dump() throws IOException;
+}
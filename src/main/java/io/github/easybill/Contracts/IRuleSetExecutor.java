@@ -0,0 +1,26 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IRuleSetExecutor {
+    /**
+     * Applies the given rule sets to the document of the request and maps
+     * their reports, passed in the order of the rule sets, to the result.
+     */
+    @NonNull
+    Optional<ValidationResult> apply(
+        @NonNull ValidationRequest validationRequest,
+        @NonNull Function<
+            @NonNull List<@NonNull SchematronReport>,
+            @NonNull ValidationResult
+        > resultMapper,
+        @NonNull LoadedRuleSet... ruleSets
+    ) throws Exception;
+}
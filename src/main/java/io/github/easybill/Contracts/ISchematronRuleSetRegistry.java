@@ -0,0 +1,22 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
+import java.util.Collection;
+import net.sf.saxon.s9api.DocumentBuilder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface ISchematronRuleSetRegistry {
+    @NonNull
+    LoadedRuleSet get(@NonNull SchematronRuleSet ruleSet);
+
+    @NonNull
+    Collection<@NonNull LoadedRuleSet> getLoadedRuleSets();
+
+    /**
+     * @return a document builder whose trees can be passed to every loaded
+     * rule set
+     */
+    @NonNull
+    DocumentBuilder newDocumentBuilder();
+}
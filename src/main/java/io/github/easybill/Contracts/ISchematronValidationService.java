@@ -1,13 +1,24 @@
 package io.github.easybill.Contracts;
 
+import io.github.easybill.Dtos.Payload;
 import io.github.easybill.Dtos.ValidationResult;
-import java.io.InputStream;
+import io.github.easybill.Enums.ValidationMode;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public interface ISchematronValidationService {
     @NonNull
-    ValidationResult validateXml(@NonNull InputStream inputStream)
-        throws Exception;
+    ValidationResult validateXml(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) throws Exception;
 
-    boolean isLoadedSchematronValid();
+    /**
+     * Validates like {@link #validateXml} but waits for admission as long as
+     * it takes instead of being turned away once the service is saturated.
+     */
+    @NonNull
+    ValidationResult validateXmlWhenAdmitted(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) throws Exception;
 }
@@ -2,12 +2,15 @@ package io.github.easybill.Contracts;
 
 import io.github.easybill.Dtos.ValidationRequest;
 import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
 import java.util.Optional;
 
 public interface ISchematronValidator {
-    boolean validateSchematron();
-
-    boolean supports(ValidationRequest validationRequest);
+    boolean supports(
+        XmlProfileType xmlProfileType,
+        XMLSyntaxType xmlSyntaxType
+    );
 
     Optional<ValidationResult> validate(ValidationRequest validationRequest)
         throws Exception;
@@ -0,0 +1,21 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ValidationJob;
+import io.github.easybill.Enums.ValidationMode;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IValidationJobService {
+    /**
+     * @return the pending job, whose validation runs once a worker is free
+     */
+    @NonNull
+    ValidationJob submit(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    );
+
+    @NonNull
+    Optional<ValidationJob> find(@NonNull String id);
+}
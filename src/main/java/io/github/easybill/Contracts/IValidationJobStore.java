@@ -0,0 +1,19 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.ValidationJob;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Keeps validation jobs until {@code app.validation.jobs.ttl} has passed
+ * since their last update. The in-memory store is used unless another
+ * implementation is provided.
+ */
+public interface IValidationJobStore {
+    void save(@NonNull ValidationJob job);
+
+    void evict(@NonNull String id);
+
+    @NonNull
+    Optional<ValidationJob> find(@NonNull String id);
+}
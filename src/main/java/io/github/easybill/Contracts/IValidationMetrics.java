@@ -0,0 +1,40 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationStage;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IValidationMetrics {
+    void recordPayloadSize(
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long bytes
+    );
+
+    void recordStage(
+        @NonNull ValidationStage stage,
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long nanos
+    );
+
+    void recordRuleSet(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long nanos
+    );
+
+    /**
+     * Records how long a pass waited for a transformer of the rule set's pool.
+     */
+    void recordTransformerWait(@NonNull SchematronRuleSet ruleSet, long nanos);
+
+    /**
+     * Counts a request that was answered with 422, by the reason given to the
+     * client.
+     */
+    void recordRejection(@NonNull String reason);
+}
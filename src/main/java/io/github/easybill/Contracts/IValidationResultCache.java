@@ -0,0 +1,20 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationMode;
+import java.util.concurrent.Callable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IValidationResultCache {
+    /**
+     * @return the cached result for the given payload and mode or, if there is
+     * none or caching is disabled, the result of the given validation
+     */
+    @NonNull
+    ValidationResult computeIfAbsent(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode,
+        @NonNull Callable<@NonNull ValidationResult> validation
+    ) throws Exception;
+}
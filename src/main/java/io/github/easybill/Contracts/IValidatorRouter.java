@@ -0,0 +1,29 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import java.util.List;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IValidatorRouter {
+    /**
+     * @return the validator responsible for the combination, or empty if the
+     * profile is not defined for the syntax
+     */
+    @NonNull
+    Optional<ISchematronValidator> route(
+        @NonNull XmlProfileType xmlProfileType,
+        @NonNull XMLSyntaxType xmlSyntaxType
+    );
+
+    @NonNull
+    List<@NonNull ValidatorRoute> getRoutes();
+
+    /**
+     * @return every validator at least one route is dispatched to
+     */
+    @NonNull
+    List<@NonNull ISchematronValidator> getValidators();
+}
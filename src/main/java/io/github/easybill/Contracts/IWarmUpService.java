@@ -0,0 +1,21 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.ValidatorRoute;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IWarmUpService {
+    /**
+     * @return whether every route has been exercised the configured number of
+     * times, or warm-up is disabled
+     */
+    boolean isFinished();
+
+    /**
+     * @return per route whether its sample was validated without an error in
+     * every iteration, empty until the warm-up has finished or if it is
+     * disabled
+     */
+    @NonNull
+    Map<ValidatorRoute, Boolean> getRouteResults();
+}
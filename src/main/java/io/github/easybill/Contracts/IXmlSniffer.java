@@ -0,0 +1,18 @@
+package io.github.easybill.Contracts;
+
+import io.github.easybill.Dtos.XmlSniffResult;
+import io.github.easybill.Enums.XMLSyntaxType;
+import java.io.Reader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public interface IXmlSniffer {
+    @NonNull
+    XmlSniffResult sniff(@NonNull Reader reader);
+
+    /**
+     * Reads no further than the start tag of the root element, so it may be
+     * called with an incomplete document.
+     */
+    @NonNull
+    XMLSyntaxType sniffSyntax(@NonNull Reader reader);
+}
@@ -0,0 +1,78 @@
+package io.github.easybill.Controllers;
+
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Dtos.RuleProfileReport;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.RuleProfileKind;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+
+@Path("/admin")
+public final class AdminController {
+
+    private final IValidatorRouter validatorRouter;
+
+    private final IRuleProfiler ruleProfiler;
+
+    public AdminController(
+        IValidatorRouter validatorRouter,
+        IRuleProfiler ruleProfiler
+    ) {
+        this.validatorRouter = validatorRouter;
+        this.ruleProfiler = ruleProfiler;
+    }
+
+    @GET
+    @Path("/routes")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponse(
+        responseCode = "200",
+        description = "The validator each profile and syntax is routed to"
+    )
+    public List<@NonNull ValidatorRoute> routes() {
+        return validatorRouter.getRoutes();
+    }
+
+    @GET
+    @Path("/rule-profile")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponse(
+        responseCode = "200",
+        description = "The patterns, rules and asserts most time was spent in"
+    )
+    public RuleProfileReport ruleProfile(
+        @QueryParam("top") @DefaultValue("0") int top,
+        @QueryParam("kind") @Nullable RuleProfileKind kind
+    ) {
+        return ruleProfiler.report(top, kind);
+    }
+
+    @DELETE
+    @Path("/rule-profile")
+    @APIResponse(responseCode = "204", description = "The profile was reset")
+    public void resetRuleProfile() {
+        ruleProfiler.reset();
+    }
+
+    @POST
+    @Path("/rule-profile/dump")
+    @APIResponse(
+        responseCode = "204",
+        description = "The profile was written to the dump file"
+    )
+    public void dumpRuleProfile() throws IOException {
+        ruleProfiler.dump();
+    }
+}
@@ -1,27 +1,70 @@
 package io.github.easybill.Controllers;
 
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IBatchValidationService;
+import io.github.easybill.Contracts.IPayloadReader;
 import io.github.easybill.Contracts.ISchematronValidationService;
+import io.github.easybill.Dtos.BatchDocument;
+import io.github.easybill.Dtos.BatchValidationResult;
+import io.github.easybill.Dtos.Payload;
 import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Exceptions.BatchTooLargeException;
+import io.github.easybill.Exceptions.InvalidXmlException;
+import io.github.easybill.Exceptions.PayloadTooLargeException;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.ZipInputStream;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
 
 @Path("/")
 public final class ValidationController {
 
+    private static final String APPLICATION_ZIP = "application/zip";
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final ISchematronValidationService validationService;
 
+    private final IBatchValidationService batchValidationService;
+
+    private final IPayloadReader payloadReader;
+
+    private final int batchMaxDocuments;
+
+    private final long batchMaxSize;
+
     public ValidationController(
-        ISchematronValidationService validationService
+        ISchematronValidationService validationService,
+        IBatchValidationService batchValidationService,
+        IPayloadReader payloadReader,
+        IApplicationConfig config
     ) {
         this.validationService = validationService;
+        this.batchValidationService = batchValidationService;
+        this.payloadReader = payloadReader;
+        this.batchMaxDocuments = config.validation().batchMaxDocuments();
+        this.batchMaxSize = config.validation().batchMaxSize().asLongValue();
     }
 
     @POST
@@ -34,6 +77,10 @@ public final class ValidationController {
                 responseCode = "200",
                 description = "The submitted XML is valid "
             ),
+            @APIResponse(
+                responseCode = "413",
+                description = "The provided XML exceeds the maximum payload size"
+            ),
             @APIResponse(
                 responseCode = "422",
                 description = "The provided XML could not be used for validation"
@@ -41,14 +88,187 @@ public final class ValidationController {
         }
     )
     public RestResponse<@NonNull ValidationResult> validation(
-        InputStream xmlInputStream
+        InputStream xmlInputStream,
+        @HeaderParam(HttpHeaders.CONTENT_LENGTH) @DefaultValue(
+            "-1"
+        ) long contentLength,
+        @QueryParam("fail_fast") boolean failFast
     ) throws Exception {
+        var xmlPayload = payloadReader.read(xmlInputStream, contentLength);
+
         return RestResponse.ResponseBuilder
             .create(
                 RestResponse.Status.OK,
-                validationService.validateXml(xmlInputStream)
+                validationService.validateXml(
+                    xmlPayload,
+                    failFast
+                        ? ValidationMode.FAIL_FAST
+                        : ValidationMode.COMPLETE
+                )
             )
             .type(MediaType.APPLICATION_JSON)
             .build();
     }
+
+    @POST
+    @Path("/validation/batch")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Blocking
+    @APIResponses(
+        {
+            @APIResponse(
+                responseCode = "200",
+                description = "One result per uploaded file, in order of completion"
+            ),
+            @APIResponse(
+                responseCode = "413",
+                description = "The batch exceeds the maximum number of documents or size"
+            ),
+        }
+    )
+    public Multi<@NonNull BatchValidationResult> batchValidation(
+        @RestForm(FileUpload.ALL) List<FileUpload> files
+    ) throws IOException {
+        long totalSize = 0;
+
+        for (FileUpload file : files) {
+            totalSize += Files.size(file.uploadedFile());
+        }
+
+        if (files.size() > batchMaxDocuments || totalSize > batchMaxSize) {
+            throw new BatchTooLargeException();
+        }
+
+        var remaining = files.iterator();
+
+        // the uploads stay on disk until a document is about to be validated
+        return batchValidationService.validate(() -> {
+            if (!remaining.hasNext()) {
+                return null;
+            }
+
+            var file = remaining.next();
+
+            return new BatchDocument(
+                file.fileName() != null ? file.fileName() : file.name(),
+                () -> {
+                    try (
+                        var inputStream = Files.newInputStream(
+                            file.uploadedFile()
+                        )
+                    ) {
+                        return payloadReader.read(
+                            inputStream,
+                            Files.size(file.uploadedFile())
+                        );
+                    }
+                }
+            );
+        });
+    }
+
+    @POST
+    @Path("/validation/batch")
+    @Consumes(APPLICATION_ZIP)
+    @Produces(APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Blocking
+    @APIResponse(
+        responseCode = "200",
+        description = "One result per file of the archive, in order of completion"
+    )
+    public Multi<@NonNull BatchValidationResult> batchValidationFromZip(
+        InputStream zipInputStream
+    ) {
+        return batchValidationService.validate(
+            new ZipDocuments(new ZipInputStream(zipInputStream))
+        );
+    }
+
+    /**
+     * Reads the entries of an archive one after another while the batch takes
+     * them. Once the archive holds more documents or more decompressed bytes
+     * than a batch may carry, the entry exceeding the limit fails with 413 and
+     * the remaining entries are not read anymore.
+     */
+    private final class ZipDocuments implements BatchDocument.Source {
+
+        private final ZipInputStream zip;
+
+        private int documents;
+
+        private long totalSize;
+
+        private boolean exhausted;
+
+        private ZipDocuments(@NonNull ZipInputStream zip) {
+            this.zip = zip;
+        }
+
+        @Override
+        public @Nullable BatchDocument next() throws IOException {
+            if (exhausted) {
+                return null;
+            }
+
+            for (
+                var entry = zip.getNextEntry();
+                entry != null;
+                entry = zip.getNextEntry()
+            ) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                if (++documents > batchMaxDocuments) {
+                    return exceedLimit(entry.getName());
+                }
+
+                try {
+                    var content = payloadReader.read(zip, entry.getSize());
+                    totalSize += content.length();
+
+                    if (totalSize > batchMaxSize) {
+                        return exceedLimit(entry.getName());
+                    }
+
+                    return new BatchDocument(entry.getName(), () -> content);
+                } catch (
+                    PayloadTooLargeException | InvalidXmlException exception
+                ) {
+                    // a rejected document fails on its own
+                    return failed(entry.getName(), exception);
+                }
+            }
+
+            exhausted = true;
+
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            zip.close();
+        }
+
+        private @NonNull BatchDocument exceedLimit(@NonNull String name) {
+            exhausted = true;
+
+            return failed(name, new BatchTooLargeException());
+        }
+    }
+
+    private static @NonNull BatchDocument failed(
+        @NonNull String name,
+        @NonNull RuntimeException exception
+    ) {
+        return new BatchDocument(
+            name,
+            () -> {
+                throw exception;
+            }
+        );
+    }
 }
@@ -0,0 +1,160 @@
+package io.github.easybill.Controllers;
+
+import io.github.easybill.Contracts.IPayloadReader;
+import io.github.easybill.Contracts.IValidationJobService;
+import io.github.easybill.Dtos.ErrorMessage;
+import io.github.easybill.Dtos.ValidationJob;
+import io.github.easybill.Enums.ValidationJobState;
+import io.github.easybill.Enums.ValidationMode;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+
+@Path("/validation/jobs")
+public final class ValidationJobController {
+
+    private final IValidationJobService jobService;
+
+    private final IPayloadReader payloadReader;
+
+    public ValidationJobController(
+        IValidationJobService jobService,
+        IPayloadReader payloadReader
+    ) {
+        this.jobService = jobService;
+        this.payloadReader = payloadReader;
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses(
+        {
+            @APIResponse(
+                responseCode = "202",
+                description = "The job was created, its location is returned"
+            ),
+            @APIResponse(
+                responseCode = "429",
+                description = "Too many jobs are waiting for a worker"
+            ),
+        }
+    )
+    public Response submit(
+        InputStream xmlInputStream,
+        @HeaderParam(HttpHeaders.CONTENT_LENGTH) @DefaultValue(
+            "-1"
+        ) long contentLength,
+        @QueryParam("fail_fast") boolean failFast
+    ) throws IOException {
+        var job = jobService.submit(
+            payloadReader.read(xmlInputStream, contentLength),
+            failFast ? ValidationMode.FAIL_FAST : ValidationMode.COMPLETE
+        );
+
+        return Response
+            .accepted(job)
+            .location(URI.create("validation/jobs/" + job.id()))
+            .build();
+    }
+
+    @GET
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses(
+        {
+            @APIResponse(responseCode = "200", description = "The job"),
+            @APIResponse(
+                responseCode = "404",
+                description = "The job does not exist or has expired"
+            ),
+        }
+    )
+    public Response status(@PathParam("id") String id) {
+        return jobService
+            .find(id)
+            .map(job -> Response.ok(job).build())
+            .orElseGet(ValidationJobController::notFound);
+    }
+
+    @GET
+    @Path("/{id}/result")
+    @Produces(MediaType.APPLICATION_JSON)
+    @APIResponses(
+        {
+            @APIResponse(
+                responseCode = "200",
+                description = "The result of the finished validation"
+            ),
+            @APIResponse(
+                responseCode = "202",
+                description = "The job has not finished yet, the job is returned"
+            ),
+            @APIResponse(
+                responseCode = "404",
+                description = "The job does not exist or has expired"
+            ),
+        }
+    )
+    public Response result(@PathParam("id") String id) {
+        return jobService
+            .find(id)
+            .map(ValidationJobController::result)
+            .orElseGet(ValidationJobController::notFound);
+    }
+
+    /**
+     * Answers like the single document endpoint once the job has finished.
+     */
+    private static Response result(ValidationJob job) {
+        if (job.state() == ValidationJobState.FAILED) {
+            return failed(job);
+        }
+
+        var result = job.result();
+
+        if (result == null) {
+            return Response.accepted(job).build();
+        }
+
+        return Response.ok(result).build();
+    }
+
+    private static Response failed(ValidationJob job) {
+        var status = job.status();
+        var error = job.error();
+
+        var response = Response.status(status != null ? status : 500);
+
+        if (error != null) {
+            response.entity(new ErrorMessage(error));
+        }
+
+        return response.build();
+    }
+
+    private static Response notFound() {
+        return Response
+            .status(Response.Status.NOT_FOUND)
+            .entity(
+                new ErrorMessage(
+                    "The validation job does not exist or has expired."
+                )
+            )
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.easybill.Dtos;
+
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A single invoice of a batch. The content is read once the invoice is about
+ * to be validated.
+ */
+public record BatchDocument(@NonNull String name, @NonNull Content content) {
+    @FunctionalInterface
+    public interface Content {
+        @NonNull
+        Payload read() throws IOException;
+    }
+
+    /**
+     * The documents of a batch, taken one at a time as soon as there is room
+     * for validating another one.
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * @return the next document, or null once all documents were taken
+         */
+        @Nullable
+        BatchDocument next() throws IOException;
+
+        /**
+         * Releases the underlying input once the batch is done or cancelled.
+         */
+        default void close() throws IOException {}
+    }
+}
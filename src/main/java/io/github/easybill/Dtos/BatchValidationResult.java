@@ -0,0 +1,35 @@
+package io.github.easybill.Dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * One line of a batch response. Carries the status and body the single
+ * document endpoint would have answered with.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public record BatchValidationResult(
+    @JsonProperty("name") @NonNull String name,
+    @JsonProperty("status") int status,
+    @JsonProperty("result") @Nullable ValidationResult result,
+    @JsonProperty("error") @Nullable String error
+) {
+    public static BatchValidationResult of(
+        @NonNull String name,
+        @NonNull ValidationResult result
+    ) {
+        return new BatchValidationResult(name, 200, result, null);
+    }
+
+    public static BatchValidationResult failed(
+        @NonNull String name,
+        int status,
+        @Nullable String error
+    ) {
+        return new BatchValidationResult(name, status, null, error);
+    }
+}
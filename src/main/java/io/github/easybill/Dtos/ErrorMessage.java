@@ -1,5 +1,7 @@
 package io.github.easybill.Dtos;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public record ErrorMessage(@NonNull String error) {}
@@ -0,0 +1,59 @@
+package io.github.easybill.Dtos;
+
+import io.github.easybill.Contracts.IEncodingResolver;
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A buffered payload. Only the first {@code length} bytes of the buffer belong
+ * to it, so a payload read without a correct content length is not copied into
+ * a buffer of its exact size. The buffer is handed over when wrapping it and
+ * never leaves the payload again.
+ */
+public final class Payload {
+
+    private final byte[] buffer;
+
+    private final int length;
+
+    private Payload(byte @NonNull [] buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * @param buffer a buffer nobody writes to anymore
+     */
+    public static @NonNull Payload wrap(byte @NonNull [] buffer, int length) {
+        Objects.checkFromIndexSize(0, length, buffer.length);
+
+        return new Payload(buffer, length);
+    }
+
+    public static @NonNull Payload wrap(byte @NonNull [] buffer) {
+        return wrap(buffer, buffer.length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the payload from the given offset on
+     */
+    public @NonNull ByteArrayInputStream newInputStream(int offset) {
+        return new ByteArrayInputStream(buffer, offset, length - offset);
+    }
+
+    public @NonNull ResolvedEncoding resolveEncoding(
+        @NonNull IEncodingResolver encodingResolver
+    ) {
+        return encodingResolver.resolve(buffer, length);
+    }
+
+    public void digest(@NonNull MessageDigest digest) {
+        digest.update(buffer, 0, length);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.easybill.Dtos;
+
+import java.nio.charset.Charset;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * @param charset the charset the payload has to be decoded with
+ * @param offset the first byte of the document, past any byte order mark and
+ * stray bytes in front of the XML declaration
+ */
+public record ResolvedEncoding(@NonNull Charset charset, int offset) {}
@@ -0,0 +1,27 @@
+package io.github.easybill.Dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.easybill.Enums.RuleProfileKind;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Time spent in a pattern, rule or assert of a rule set, summed over every
+ * profiled pass. A pattern is named after the mode it was compiled to, a rule
+ * by its context and an assert by its id or, lacking one, by its test.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public record RuleProfileEntry(
+    @JsonProperty("rule_set") @NonNull SchematronRuleSet ruleSet,
+    @JsonProperty("kind") @NonNull RuleProfileKind kind,
+    @JsonProperty("pattern") @NonNull String pattern,
+    @JsonProperty("rule") @Nullable String rule,
+    @JsonProperty("assert") @Nullable String assertion,
+    @JsonProperty("invocations") long invocations,
+    @JsonProperty("total_millis") double totalMillis,
+    @JsonProperty("mean_micros") double meanMicros
+) {}
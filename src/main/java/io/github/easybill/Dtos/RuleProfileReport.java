@@ -0,0 +1,18 @@
+package io.github.easybill.Dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+@RegisterForReflection
+public record RuleProfileReport(
+    @JsonProperty("enabled") boolean enabled,
+    @JsonProperty("passes") long passes,
+    @JsonProperty("entries") @NonNull List<@NonNull RuleProfileEntry> entries
+) {
+    public RuleProfileReport {
+        entries = Collections.unmodifiableList(entries);
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.easybill.Dtos;
+
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The failed assertions of a single rule set pass, split by their flag.
+ */
+public record SchematronReport(
+    @NonNull List<@NonNull ValidationResultField> errors,
+    @NonNull List<@NonNull ValidationResultField> warnings
+) {
+    public SchematronReport {
+        errors = Collections.unmodifiableList(errors);
+        warnings = Collections.unmodifiableList(warnings);
+    }
+
+    /**
+     * @return the report of a pass which was not run, as a previous one already
+     * found a fatal assertion in fail-fast mode
+     */
+    public static @NonNull SchematronReport skipped() {
+        return new SchematronReport(List.of(), List.of());
+    }
+}
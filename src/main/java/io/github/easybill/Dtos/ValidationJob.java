@@ -0,0 +1,85 @@
+package io.github.easybill.Dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.easybill.Enums.ValidationJobState;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.time.Instant;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An asynchronously validated document. Once the job has finished it carries
+ * the status and, on failure, the error the single document endpoint would
+ * have answered with. The result itself is served by its own endpoint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public record ValidationJob(
+    @JsonProperty("id") @NonNull String id,
+    @JsonProperty("state") @NonNull ValidationJobState state,
+    @JsonProperty("submitted_at") @NonNull Instant submittedAt,
+    @JsonProperty("completed_at") @Nullable Instant completedAt,
+    @JsonProperty("status") @Nullable Integer status,
+    @JsonProperty("error") @Nullable String error,
+    @JsonIgnore @Nullable ValidationResult result
+) {
+    public static ValidationJob pending(
+        @NonNull String id,
+        @NonNull Instant submittedAt
+    ) {
+        return new ValidationJob(
+            id,
+            ValidationJobState.PENDING,
+            submittedAt,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    public ValidationJob running() {
+        return new ValidationJob(
+            id,
+            ValidationJobState.RUNNING,
+            submittedAt,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    public ValidationJob completed(
+        @NonNull ValidationResult result,
+        @NonNull Instant completedAt
+    ) {
+        return new ValidationJob(
+            id,
+            ValidationJobState.COMPLETED,
+            submittedAt,
+            completedAt,
+            200,
+            null,
+            result
+        );
+    }
+
+    public ValidationJob failed(
+        int status,
+        @Nullable String error,
+        @NonNull Instant completedAt
+    ) {
+        return new ValidationJob(
+            id,
+            ValidationJobState.FAILED,
+            submittedAt,
+            completedAt,
+            status,
+            error,
+            null
+        );
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.easybill.Dtos;
 
+import io.github.easybill.Enums.ValidationMode;
 import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
 import java.nio.charset.Charset;
+import net.sf.saxon.s9api.XdmNode;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public record ValidationRequest(
     @NonNull XMLSyntaxType xmlSyntaxType,
     @NonNull XmlProfileType xmlProfileType,
     @NonNull Charset xmlCharset,
-    @NonNull String xml
+    @NonNull XdmNode document,
+    @NonNull ValidationMode validationMode
 ) {}
@@ -2,12 +2,15 @@ package io.github.easybill.Dtos;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.easybill.Dtos.ValidatorResults.ValidatorResult;
+import io.github.easybill.Enums.ValidationMode;
 import io.github.easybill.Enums.XmlProfileType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public record ValidationResult(
     @NonNull ValidationResultMetaData meta,
     @JsonProperty("validation_results")
@@ -40,7 +43,8 @@ public record ValidationResult(
         return new ValidationResult(
             new ValidationResultMetaData(
                 validationRequest.xmlSyntaxType(),
-                xmlProfileType
+                xmlProfileType,
+                validationRequest.validationMode() == ValidationMode.FAIL_FAST
             ),
             Arrays.stream(validatorResults).toList()
         );
@@ -1,18 +1,20 @@
 package io.github.easybill.Dtos;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.helger.schematron.svrl.jaxb.FailedAssert;
-import com.helger.schematron.svrl.jaxb.Text;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+@RegisterForReflection
 enum Severity {
     FATAL,
     WARNING,
 }
 
+@RegisterForReflection
 public record ValidationResultField(
     @JsonProperty("rule_id") @NonNull String id,
     @JsonProperty("rule_location") @NonNull String location,
@@ -24,28 +26,15 @@ public record ValidationResultField(
     }
 
     public static ValidationResultField fromFailedAssert(
-        @NonNull FailedAssert failedAssert
+        @Nullable String id,
+        @Nullable String location,
+        @Nullable String flag,
+        @NonNull List<@NonNull String> messages
     ) {
-        var messages = failedAssert
-            .getDiagnosticReferenceOrPropertyReferenceOrText()
-            .stream()
-            .filter(element -> element instanceof Text)
-            .map(element ->
-                ((Text) element).getContent()
-                    .stream()
-                    .filter(innerElement -> innerElement instanceof String)
-                    .map(innerElement -> (String) innerElement)
-                    .toList()
-            )
-            .flatMap(List::stream)
-            .toList();
-
         return new ValidationResultField(
-            Objects.requireNonNullElse(failedAssert.getId(), ""),
-            Objects.requireNonNullElse(failedAssert.getLocation(), ""),
-            Objects.equals(failedAssert.getFlag(), "fatal")
-                ? Severity.FATAL
-                : Severity.WARNING,
+            Objects.requireNonNullElse(id, ""),
+            Objects.requireNonNullElse(location, ""),
+            Objects.equals(flag, "fatal") ? Severity.FATAL : Severity.WARNING,
             messages
         );
     }
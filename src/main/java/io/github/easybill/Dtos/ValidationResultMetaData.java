@@ -1,11 +1,17 @@
 package io.github.easybill.Dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public record ValidationResultMetaData(
     @NonNull @JsonProperty("xml_syntax_type") XMLSyntaxType xmlSyntaxType,
-    @NonNull @JsonProperty("xml_profile_type") XmlProfileType xmlProfileType
+    @NonNull @JsonProperty("xml_profile_type") XmlProfileType xmlProfileType,
+    @JsonProperty("fail_fast")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    boolean failFast
 ) {}
@@ -1,10 +1,12 @@
 package io.github.easybill.Dtos.ValidatorResults;
 
-import com.helger.schematron.svrl.jaxb.SchematronOutputType;
+import io.github.easybill.Dtos.SchematronReport;
 import io.github.easybill.Dtos.ValidationResultField;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public final class EN16931ValidatorResult extends ValidatorResult {
 
     public EN16931ValidatorResult(
@@ -16,14 +18,12 @@ public final class EN16931ValidatorResult extends ValidatorResult {
         super(name, version, errors, warnings);
     }
 
-    public static EN16931ValidatorResult of(
-        @NonNull SchematronOutputType report
-    ) {
+    public static EN16931ValidatorResult of(@NonNull SchematronReport report) {
         return new EN16931ValidatorResult(
             "EN16931",
             "1.3.13",
-            getErrorsFromSchematronOutput(report),
-            getWarningsFromSchematronOutput(report)
+            report.errors(),
+            report.warnings()
         );
     }
 }
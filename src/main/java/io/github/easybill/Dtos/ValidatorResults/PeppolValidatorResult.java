@@ -1,10 +1,12 @@
 package io.github.easybill.Dtos.ValidatorResults;
 
-import com.helger.schematron.svrl.jaxb.SchematronOutputType;
+import io.github.easybill.Dtos.SchematronReport;
 import io.github.easybill.Dtos.ValidationResultField;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public final class PeppolValidatorResult extends ValidatorResult {
 
     public PeppolValidatorResult(
@@ -16,14 +18,12 @@ public final class PeppolValidatorResult extends ValidatorResult {
         super(name, version, errors, warnings);
     }
 
-    public static PeppolValidatorResult of(
-        @NonNull SchematronOutputType report
-    ) {
+    public static PeppolValidatorResult of(@NonNull SchematronReport report) {
         return new PeppolValidatorResult(
             "Peppol BIS",
             "3.0",
-            getErrorsFromSchematronOutput(report),
-            getWarningsFromSchematronOutput(report)
+            report.errors(),
+            report.warnings()
         );
     }
 }
@@ -1,14 +1,13 @@
 package io.github.easybill.Dtos.ValidatorResults;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.helger.schematron.svrl.jaxb.FailedAssert;
-import com.helger.schematron.svrl.jaxb.SchematronOutputType;
 import io.github.easybill.Dtos.ValidationResultField;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public abstract class ValidatorResult {
 
     @NonNull
@@ -35,36 +34,6 @@ public abstract class ValidatorResult {
         this.warnings = Collections.unmodifiableList(warnings);
     }
 
-    static List<@NonNull ValidationResultField> getErrorsFromSchematronOutput(
-        @NonNull SchematronOutputType outputType
-    ) {
-        return outputType
-            .getActivePatternAndFiredRuleAndFailedAssert()
-            .stream()
-            .filter(element -> element instanceof FailedAssert)
-            .filter(element ->
-                Objects.equals(((FailedAssert) element).getFlag(), "fatal")
-            )
-            .map(element -> (FailedAssert) element)
-            .map(ValidationResultField::fromFailedAssert)
-            .toList();
-    }
-
-    static List<@NonNull ValidationResultField> getWarningsFromSchematronOutput(
-        @NonNull SchematronOutputType outputType
-    ) {
-        return outputType
-            .getActivePatternAndFiredRuleAndFailedAssert()
-            .stream()
-            .filter(element -> element instanceof FailedAssert)
-            .filter(element ->
-                Objects.equals(((FailedAssert) element).getFlag(), "warning")
-            )
-            .map(element -> (FailedAssert) element)
-            .map(ValidationResultField::fromFailedAssert)
-            .toList();
-    }
-
     public @NonNull List<@NonNull ValidationResultField> getErrors() {
         return errors;
     }
@@ -1,10 +1,12 @@
 package io.github.easybill.Dtos.ValidatorResults;
 
-import com.helger.schematron.svrl.jaxb.SchematronOutputType;
+import io.github.easybill.Dtos.SchematronReport;
 import io.github.easybill.Dtos.ValidationResultField;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@RegisterForReflection
 public final class XRechnungValidatorResult extends ValidatorResult {
 
     public XRechnungValidatorResult(
@@ -17,13 +19,13 @@ public final class XRechnungValidatorResult extends ValidatorResult {
     }
 
     public static XRechnungValidatorResult of(
-        @NonNull SchematronOutputType report
+        @NonNull SchematronReport report
     ) {
         return new XRechnungValidatorResult(
             "XRechnung",
             "3.2",
-            getErrorsFromSchematronOutput(report),
-            getWarningsFromSchematronOutput(report)
+            report.errors(),
+            report.warnings()
         );
     }
 }
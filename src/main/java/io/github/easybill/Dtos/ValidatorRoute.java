@@ -0,0 +1,13 @@
+package io.github.easybill.Dtos;
+
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+@RegisterForReflection
+public record ValidatorRoute(
+    @NonNull XmlProfileType xmlProfileType,
+    @NonNull XMLSyntaxType xmlSyntaxType,
+    @NonNull String validator
+) {}
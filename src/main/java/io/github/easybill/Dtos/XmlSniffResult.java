@@ -0,0 +1,11 @@
+package io.github.easybill.Dtos;
+
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public record XmlSniffResult(
+    @NonNull XMLSyntaxType xmlSyntaxType,
+    @Nullable XmlProfileType xmlProfileType
+) {}
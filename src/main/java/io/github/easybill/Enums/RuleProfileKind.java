@@ -0,0 +1,7 @@
+package io.github.easybill.Enums;
+
+public enum RuleProfileKind {
+    PATTERN,
+    RULE,
+    ASSERT,
+}
@@ -0,0 +1,75 @@
+package io.github.easybill.Enums;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public enum SchematronRuleSet {
+    EN16931_CII(
+        "EN16931",
+        "1.3.13",
+        XMLSyntaxType.CII,
+        "/EN16931/EN16931_1.3.13_CII.xslt"
+    ),
+    EN16931_UBL(
+        "EN16931",
+        "1.3.13",
+        XMLSyntaxType.UBL,
+        "/EN16931/EN16931_1.3.13_UBL.xslt"
+    ),
+    XRECHNUNG_CII(
+        "XRechnung",
+        "3.2",
+        XMLSyntaxType.CII,
+        "/XRechnung/XRechnung_3.2_CII.xslt"
+    ),
+    XRECHNUNG_UBL(
+        "XRechnung",
+        "3.2",
+        XMLSyntaxType.UBL,
+        "/XRechnung/XRechnung_3.2_UBL.xslt"
+    ),
+    FACTURX_EXTENDED_CII(
+        "factur-x",
+        "1.07.2",
+        XMLSyntaxType.CII,
+        "/FacturX/Factur-X_1.07.2_EXTENDED.xslt"
+    ),
+    PEPPOL_UBL(
+        "Peppol BIS",
+        "3.0",
+        XMLSyntaxType.UBL,
+        "/Peppol/PEPPOL_BIS_BILLING_3.0.xslt"
+    );
+
+    private final String family;
+    private final String version;
+    private final XMLSyntaxType syntax;
+    private final String resourcePath;
+
+    SchematronRuleSet(
+        final @NonNull String family,
+        final @NonNull String version,
+        final @NonNull XMLSyntaxType syntax,
+        final @NonNull String resourcePath
+    ) {
+        this.family = family;
+        this.version = version;
+        this.syntax = syntax;
+        this.resourcePath = resourcePath;
+    }
+
+    public @NonNull String family() {
+        return family;
+    }
+
+    public @NonNull String version() {
+        return version;
+    }
+
+    public @NonNull XMLSyntaxType syntax() {
+        return syntax;
+    }
+
+    public @NonNull String resourcePath() {
+        return resourcePath;
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.easybill.Enums;
+
+public enum ValidationJobState {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,13 @@
+package io.github.easybill.Enums;
+
+public enum ValidationMode {
+    /**
+     * Every rule of every rule set is evaluated.
+     */
+    COMPLETE,
+    /**
+     * Validation stops at the first fatal assertion. The result reliably tells
+     * whether the document is valid, but lists at most one error.
+     */
+    FAIL_FAST,
+}
@@ -0,0 +1,22 @@
+package io.github.easybill.Enums;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public enum ValidationStage {
+    CHARSET_DETECTION("charset_detection"),
+    SYNTAX_PROFILE_DETECTION("syntax_profile_detection"),
+    PARSING("parsing"),
+    RESULT_MAPPING("result_mapping"),
+    SERIALIZATION("serialization");
+
+    @NonNull
+    private final String tag;
+
+    ValidationStage(@NonNull String tag) {
+        this.tag = tag;
+    }
+
+    public @NonNull String tag() {
+        return tag;
+    }
+}
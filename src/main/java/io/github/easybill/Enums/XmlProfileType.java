@@ -25,6 +25,18 @@ public enum XmlProfileType {
         return text;
     }
 
+    /**
+     * @return whether invoices of this profile can be expressed in the given
+     * syntax
+     */
+    public boolean isDefinedFor(@NonNull XMLSyntaxType xmlSyntaxType) {
+        return switch (this) {
+            case FACTURX_EXTENDED -> xmlSyntaxType == XMLSyntaxType.CII;
+            case PEPPOL_30 -> xmlSyntaxType == XMLSyntaxType.UBL;
+            case EN16931, XRECHNUNG_30 -> true;
+        };
+    }
+
     public static Optional<XmlProfileType> tryFromString(final String text) {
         for (XmlProfileType type : XmlProfileType.values()) {
             if (type.text.equals(text)) {
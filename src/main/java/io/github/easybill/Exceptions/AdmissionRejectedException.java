@@ -0,0 +1,33 @@
+package io.github.easybill.Exceptions;
+
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public class AdmissionRejectedException extends ValidatorException {
+
+    private final boolean queueFull;
+
+    @NonNull
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(
+        boolean queueFull,
+        @NonNull Duration retryAfter
+    ) {
+        super();
+        this.queueFull = queueFull;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return whether the request was turned away without waiting, as too many
+     * requests were already waiting for admission
+     */
+    public boolean isQueueFull() {
+        return queueFull;
+    }
+
+    public @NonNull Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.easybill.Exceptions;
+
+/**
+ * Thrown once a batch holds more documents or more bytes than a single batch
+ * request may carry.
+ */
+public class BatchTooLargeException extends ValidatorException {
+
+    public BatchTooLargeException() {
+        super();
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.easybill.Exceptions;
+
+public class PayloadTooLargeException extends ValidatorException {
+
+    private final long maxPayloadSize;
+
+    public PayloadTooLargeException(long maxPayloadSize) {
+        super();
+        this.maxPayloadSize = maxPayloadSize;
+    }
+
+    public long getMaxPayloadSize() {
+        return maxPayloadSize;
+    }
+}
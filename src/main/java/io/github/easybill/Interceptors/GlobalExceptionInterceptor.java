@@ -1,12 +1,17 @@
 package io.github.easybill.Interceptors;
 
 import io.github.easybill.Contracts.IExceptionNotifier;
+import io.github.easybill.Contracts.IValidationMetrics;
 import io.github.easybill.Dtos.ErrorMessage;
+import io.github.easybill.Exceptions.AdmissionRejectedException;
+import io.github.easybill.Exceptions.BatchTooLargeException;
 import io.github.easybill.Exceptions.InvalidProfileException;
 import io.github.easybill.Exceptions.InvalidXmlException;
 import io.github.easybill.Exceptions.ParsingException;
+import io.github.easybill.Exceptions.PayloadTooLargeException;
 import io.github.easybill.Exceptions.ValidationChainException;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -18,12 +23,18 @@ public final class GlobalExceptionInterceptor
 
     private final IExceptionNotifier exceptionNotifier;
 
+    private final IValidationMetrics metrics;
+
     private static final Logger logger = Logger.getLogger(
         GlobalExceptionInterceptor.class
     );
 
-    public GlobalExceptionInterceptor(IExceptionNotifier exceptionNotifier) {
+    public GlobalExceptionInterceptor(
+        IExceptionNotifier exceptionNotifier,
+        IValidationMetrics metrics
+    ) {
         this.exceptionNotifier = exceptionNotifier;
+        this.metrics = metrics;
     }
 
     @Override
@@ -32,7 +43,53 @@ public final class GlobalExceptionInterceptor
             return ((WebApplicationException) exception).getResponse();
         }
 
+        if (exception instanceof AdmissionRejectedException rejection) {
+            var response = rejection.isQueueFull()
+                ? Response.status(429, "Too Many Requests")
+                : Response.status(Response.Status.SERVICE_UNAVAILABLE);
+
+            return response
+                .header(
+                    HttpHeaders.RETRY_AFTER,
+                    Math.max(1, rejection.getRetryAfter().toSeconds())
+                )
+                .entity(
+                    new ErrorMessage(
+                        "The service is saturated. Please retry later."
+                    )
+                )
+                .build();
+        }
+
+        if (exception instanceof PayloadTooLargeException) {
+            metrics.recordRejection("payload_too_large");
+
+            return Response
+                .status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                .entity(
+                    new ErrorMessage(
+                        "The provided XML exceeds the maximum payload size."
+                    )
+                )
+                .build();
+        }
+
+        if (exception instanceof BatchTooLargeException) {
+            metrics.recordRejection("batch_too_large");
+
+            return Response
+                .status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                .entity(
+                    new ErrorMessage(
+                        "The batch exceeds the maximum number of documents or size."
+                    )
+                )
+                .build();
+        }
+
         if (exception instanceof InvalidXmlException) {
+            metrics.recordRejection("invalid_xml");
+
             return Response
                 .status(422, "Unprocessable Content")
                 .entity(new ErrorMessage("The provided XML is not valid"))
@@ -40,6 +97,8 @@ public final class GlobalExceptionInterceptor
         }
 
         if (exception instanceof InvalidProfileException) {
+            metrics.recordRejection("invalid_profile");
+
             return Response
                 .status(422, "Unprocessable Content")
                 .entity(
@@ -51,6 +110,8 @@ public final class GlobalExceptionInterceptor
         }
 
         if (exception instanceof ParsingException) {
+            metrics.recordRejection("parsing_failed");
+
             return Response
                 .status(422, "Unprocessable Content")
                 .entity(
@@ -60,6 +121,8 @@ public final class GlobalExceptionInterceptor
         }
 
         if (exception instanceof ValidationChainException) {
+            metrics.recordRejection("validation_chain_failed");
+
             return Response
                 .status(422, "Unprocessable Content")
                 .entity(
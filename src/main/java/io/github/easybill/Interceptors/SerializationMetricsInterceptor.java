@@ -0,0 +1,44 @@
+package io.github.easybill.Interceptors;
+
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationStage;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+
+/**
+ * Records the time it takes to serialize a {@link ValidationResult} into the
+ * response body.
+ */
+@Provider
+public final class SerializationMetricsInterceptor
+    implements WriterInterceptor {
+
+    private final IValidationMetrics metrics;
+
+    public SerializationMetricsInterceptor(IValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context)
+        throws IOException {
+        if (!(context.getEntity() instanceof ValidationResult result)) {
+            context.proceed();
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+
+        context.proceed();
+
+        metrics.recordStage(
+            ValidationStage.SERIALIZATION,
+            result.meta().xmlSyntaxType(),
+            result.meta().xmlProfileType(),
+            System.nanoTime() - startedAt
+        );
+    }
+}
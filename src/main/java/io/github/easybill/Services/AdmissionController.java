@@ -0,0 +1,210 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IAdmissionController;
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Exceptions.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Bounds the number of validations running at once and the bytes of their
+ * payloads. Requests beyond these limits wait in a short, bounded queue and are
+ * turned away once it is full or their wait exceeds the queue timeout. Only
+ * admitted payloads count, as requests ask for admission once their payload
+ * was read.
+ */
+@Singleton
+public final class AdmissionController implements IAdmissionController {
+
+    /**
+     * In-flight bytes are tracked in KiB, so a budget of several GiB still
+     * fits into the permits of a semaphore.
+     */
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private final Semaphore concurrencyPermits;
+
+    private final Semaphore bytePermits;
+
+    private final int maxBytePermits;
+
+    private final int maxQueued;
+
+    private final long queueTimeoutNanos;
+
+    private final Duration retryAfter;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Meter.MeterProvider<Counter> rejectionCounters;
+
+    public AdmissionController(
+        IApplicationConfig config,
+        MeterRegistry meterRegistry
+    ) {
+        var admission = config.validation().admission();
+        int maxConcurrent = Math.max(1, admission.maxConcurrent());
+
+        this.maxBytePermits =
+            Math.clamp(
+                admission.maxInFlightBytes().asLongValue() / BYTES_PER_PERMIT,
+                1,
+                Integer.MAX_VALUE
+            );
+        this.concurrencyPermits = new Semaphore(maxConcurrent, true);
+        this.bytePermits = new Semaphore(maxBytePermits, true);
+        this.maxQueued = Math.max(0, admission.maxQueued());
+        this.queueTimeoutNanos = admission.queueTimeout().toNanos();
+        this.retryAfter = admission.retryAfter();
+
+        Gauge
+            .builder("validation.admission.queued", queued, AtomicInteger::get)
+            .description("Requests waiting for admission")
+            .register(meterRegistry);
+        Gauge
+            .builder(
+                "validation.admission.in_flight",
+                concurrencyPermits,
+                permits -> maxConcurrent - permits.availablePermits()
+            )
+            .description("Validations currently running")
+            .register(meterRegistry);
+        Gauge
+            .builder(
+                "validation.admission.in_flight_payload",
+                bytePermits,
+                permits ->
+                    (double) (maxBytePermits - permits.availablePermits()) *
+                    BYTES_PER_PERMIT
+            )
+            .description("Payload bytes of the validations currently running")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        this.rejectionCounters =
+            Counter
+                .builder("validation.admission.rejections")
+                .description("Requests turned away by the admission control")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public @NonNull Permit admit(long payloadBytes) {
+        int requiredBytePermits = requiredBytePermits(payloadBytes);
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+
+        acquire(concurrencyPermits, 1, deadline);
+
+        try {
+            acquire(bytePermits, requiredBytePermits, deadline);
+        } catch (RuntimeException exception) {
+            concurrencyPermits.release();
+            throw exception;
+        }
+
+        return new AdmissionPermit(requiredBytePermits);
+    }
+
+    @Override
+    public @NonNull Permit await(long payloadBytes) {
+        int requiredBytePermits = requiredBytePermits(payloadBytes);
+
+        try {
+            concurrencyPermits.acquire();
+
+            try {
+                bytePermits.acquire(requiredBytePermits);
+            } catch (InterruptedException exception) {
+                concurrencyPermits.release();
+                throw exception;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted", false);
+        }
+
+        return new AdmissionPermit(requiredBytePermits);
+    }
+
+    /**
+     * A payload above the budget is admitted once nothing else runs.
+     */
+    private int requiredBytePermits(long payloadBytes) {
+        return Math.clamp(
+            Math.ceilDiv(payloadBytes, BYTES_PER_PERMIT),
+            1,
+            maxBytePermits
+        );
+    }
+
+    private void acquire(
+        @NonNull Semaphore semaphore,
+        int permits,
+        long deadline
+    ) {
+        if (semaphore.tryAcquire(permits)) {
+            return;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject("queue_full", true);
+        }
+
+        try {
+            if (
+                !semaphore.tryAcquire(
+                    permits,
+                    deadline - System.nanoTime(),
+                    TimeUnit.NANOSECONDS
+                )
+            ) {
+                throw reject("queue_timeout", false);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw reject("interrupted", false);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private @NonNull AdmissionRejectedException reject(
+        @NonNull String reason,
+        boolean queueFull
+    ) {
+        rejectionCounters.withTags("reason", reason).increment();
+
+        return new AdmissionRejectedException(queueFull, retryAfter);
+    }
+
+    private final class AdmissionPermit implements Permit {
+
+        private final int bytePermitCount;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private AdmissionPermit(int bytePermitCount) {
+            this.bytePermitCount = bytePermitCount;
+        }
+
+        @Override
+        public void close() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+
+            bytePermits.release(bytePermitCount);
+            concurrencyPermits.release();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IBatchValidationService;
+import io.github.easybill.Contracts.ISchematronValidationService;
+import io.github.easybill.Dtos.BatchDocument;
+import io.github.easybill.Dtos.BatchValidationResult;
+import io.github.easybill.Dtos.ErrorMessage;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Interceptors.GlobalExceptionInterceptor;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Validates the documents of a batch concurrently on virtual threads. The
+ * number of documents of a single batch being read and validated at the same
+ * time is bounded by {@code app.validation.batch-concurrency}. Documents wait
+ * for admission as long as it takes, as a client could not retry a single
+ * document of a batch turned away by a saturated service.
+ */
+@Singleton
+public final class BatchValidationService implements IBatchValidationService {
+
+    private static final Logger logger = Logger.getLogger(
+        BatchValidationService.class
+    );
+
+    private final ISchematronValidationService validationService;
+
+    private final GlobalExceptionInterceptor exceptionInterceptor;
+
+    private final int batchConcurrency;
+
+    private final ExecutorService executorService;
+
+    public BatchValidationService(
+        ISchematronValidationService validationService,
+        GlobalExceptionInterceptor exceptionInterceptor,
+        IApplicationConfig config
+    ) {
+        this.validationService = validationService;
+        this.exceptionInterceptor = exceptionInterceptor;
+        this.batchConcurrency =
+            Math.max(1, config.validation().batchConcurrency());
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Override
+    public @NonNull Multi<@NonNull BatchValidationResult> validate(
+        BatchDocument.@NonNull Source documents
+    ) {
+        return Multi
+            .createFrom()
+            .emitter(emitter -> validate(documents, emitter));
+    }
+
+    /**
+     * A single virtual thread takes the documents from the source, each one
+     * only after a permit was acquired, and hands them to a virtual thread of
+     * their own. The batch completes once the source is exhausted and every
+     * document taken from it was validated.
+     */
+    private void validate(
+        BatchDocument.@NonNull Source documents,
+        @NonNull MultiEmitter<? super @NonNull BatchValidationResult> emitter
+    ) {
+        var permits = new Semaphore(batchConcurrency);
+        // the reading thread counts as pending until the source is exhausted
+        var pending = new AtomicInteger(1);
+        Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+
+        Runnable completeIfDone = () -> {
+            if (pending.decrementAndGet() == 0) {
+                emitter.complete();
+            }
+        };
+
+        emitter.onTermination(() ->
+            futures.forEach(future -> future.cancel(true))
+        );
+
+        futures.add(
+            executorService.submit(() -> {
+                try {
+                    while (!emitter.isCancelled()) {
+                        permits.acquire();
+
+                        var document = documents.next();
+
+                        if (document == null) {
+                            break;
+                        }
+
+                        pending.incrementAndGet();
+                        futures.removeIf(Future::isDone);
+                        futures.add(
+                            executorService.submit(() -> {
+                                try {
+                                    if (!emitter.isCancelled()) {
+                                        emitter.emit(validate(document));
+                                    }
+                                } finally {
+                                    permits.release();
+                                    completeIfDone.run();
+                                }
+                            })
+                        );
+                    }
+
+                    completeIfDone.run();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException | RuntimeException exception) {
+                    emitter.fail(exception);
+                } finally {
+                    close(documents);
+                }
+            })
+        );
+    }
+
+    private static void close(BatchDocument.@NonNull Source documents) {
+        try {
+            documents.close();
+        } catch (IOException exception) {
+            logger.debug("Could not close the documents of a batch", exception);
+        }
+    }
+
+    private @NonNull BatchValidationResult validate(
+        @NonNull BatchDocument document
+    ) {
+        try {
+            return BatchValidationResult.of(
+                document.name(),
+                validationService.validateXmlWhenAdmitted(
+                    document.content().read(),
+                    ValidationMode.COMPLETE
+                )
+            );
+        } catch (Exception exception) {
+            try (var response = exceptionInterceptor.toResponse(exception)) {
+                return BatchValidationResult.failed(
+                    document.name(),
+                    response.getStatus(),
+                    response.getEntity() instanceof ErrorMessage errorMessage
+                        ? errorMessage.error()
+                        : null
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IEncodingResolver;
+import io.github.easybill.Dtos.ResolvedEncoding;
+import io.github.easybill.Exceptions.InvalidXmlException;
+import jakarta.inject.Singleton;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.mozilla.universalchardet.UniversalDetector;
+
+/**
+ * Resolves the charset of a payload from its byte order mark and the
+ * encoding pseudo attribute of the XML declaration. Statistical detection is
+ * only used for payloads declaring neither, and then only on a bounded
+ * prefix of the payload.
+ */
+@Singleton
+public final class EncodingResolver implements IEncodingResolver {
+
+    /**
+     * Number of leading bytes searched for the XML declaration. Covers stray
+     * bytes some producers put in front of it.
+     */
+    private static final int DECLARATION_SEARCH_LIMIT = 1024;
+
+    private static final int DETECTION_SAMPLE_LIMIT = 64 * 1024;
+
+    private static final int DETECTION_CHUNK_SIZE = 4 * 1024;
+
+    private static final byte[] UTF8_BOM = {
+        (byte) 0xEF,
+        (byte) 0xBB,
+        (byte) 0xBF,
+    };
+
+    private static final byte[] UTF16BE_BOM = { (byte) 0xFE, (byte) 0xFF };
+
+    private static final byte[] UTF16LE_BOM = { (byte) 0xFF, (byte) 0xFE };
+
+    /**
+     * Charsets invoices are commonly declared in, by lower case name. Looking
+     * up other names through {@link Charset#forName} synchronizes on the
+     * charset provider shared by all request threads once its cache of the
+     * last two names misses, which already happens when invoices spell UTF-8
+     * in both cases.
+     */
+    private static final Map<String, Charset> COMMON_CHARSETS = Map.of(
+        "utf-8",
+        StandardCharsets.UTF_8,
+        "utf8",
+        StandardCharsets.UTF_8,
+        "iso-8859-1",
+        StandardCharsets.ISO_8859_1,
+        "latin1",
+        StandardCharsets.ISO_8859_1,
+        "us-ascii",
+        StandardCharsets.US_ASCII,
+        "ascii",
+        StandardCharsets.US_ASCII
+    );
+
+    private static final Pattern ENCODING_PATTERN = Pattern.compile(
+        "encoding\\s*=\\s*[\"']([A-Za-z][A-Za-z0-9._-]*)[\"']"
+    );
+
+    @Override
+    public @NonNull ResolvedEncoding resolve(
+        byte @NonNull [] payload,
+        int length
+    ) {
+        if (startsWith(payload, length, UTF8_BOM)) {
+            return withDeclarationOffset(
+                payload,
+                length,
+                StandardCharsets.UTF_8,
+                UTF8_BOM.length
+            );
+        }
+
+        if (startsWith(payload, length, UTF16BE_BOM)) {
+            return withDeclarationOffset(
+                payload,
+                length,
+                StandardCharsets.UTF_16BE,
+                UTF16BE_BOM.length
+            );
+        }
+
+        if (startsWith(payload, length, UTF16LE_BOM)) {
+            return withDeclarationOffset(
+                payload,
+                length,
+                StandardCharsets.UTF_16LE,
+                UTF16LE_BOM.length
+            );
+        }
+
+        for (var charset : new Charset[] {
+            StandardCharsets.UTF_16BE,
+            StandardCharsets.UTF_16LE,
+        }) {
+            int declaration = indexOfDeclaration(payload, length, charset, 0);
+
+            if (declaration >= 0) {
+                return new ResolvedEncoding(charset, declaration);
+            }
+        }
+
+        int declaration = indexOfDeclaration(
+            payload,
+            length,
+            StandardCharsets.US_ASCII,
+            0
+        );
+
+        if (declaration < 0) {
+            return new ResolvedEncoding(detectCharset(payload, 0, length), 0);
+        }
+
+        var declaredCharset = readDeclaredCharset(payload, length, declaration);
+
+        if (declaredCharset != null) {
+            return new ResolvedEncoding(declaredCharset, declaration);
+        }
+
+        return new ResolvedEncoding(
+            detectCharset(payload, declaration, length),
+            declaration
+        );
+    }
+
+    private @NonNull ResolvedEncoding withDeclarationOffset(
+        byte @NonNull [] payload,
+        int length,
+        @NonNull Charset charset,
+        int bomLength
+    ) {
+        int declaration = indexOfDeclaration(
+            payload,
+            length,
+            charset,
+            bomLength
+        );
+
+        return new ResolvedEncoding(
+            charset,
+            declaration < 0 ? bomLength : declaration
+        );
+    }
+
+    /**
+     * Reads the encoding pseudo attribute of the declaration starting at the
+     * given offset. Charsets that are unknown or that would not encode the
+     * declaration itself as ASCII are ignored, as they contradict the bytes
+     * the declaration was found in.
+     */
+    private @Nullable Charset readDeclaredCharset(
+        byte @NonNull [] payload,
+        int length,
+        int declaration
+    ) {
+        int limit = Math.min(length, declaration + DECLARATION_SEARCH_LIMIT);
+        int end = declaration;
+
+        while (end < limit && payload[end] != '>') {
+            end++;
+        }
+
+        var matcher = ENCODING_PATTERN.matcher(
+            new String(
+                payload,
+                declaration,
+                end - declaration,
+                StandardCharsets.US_ASCII
+            )
+        );
+
+        var encoding = matcher.find() ? matcher.group(1) : null;
+
+        if (encoding == null) {
+            return null;
+        }
+
+        try {
+            var charset = forName(encoding);
+
+            if (!isAsciiCompatible(charset)) {
+                return null;
+            }
+
+            return charset;
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+
+    private @NonNull Charset detectCharset(
+        byte @NonNull [] payload,
+        int offset,
+        int length
+    ) {
+        var detector = new UniversalDetector();
+        int limit = Math.min(length, offset + DETECTION_SAMPLE_LIMIT);
+        int position = offset;
+
+        while (position < limit && !detector.isDone()) {
+            int chunk = Math.min(DETECTION_CHUNK_SIZE, limit - position);
+
+            detector.handleData(payload, position, chunk);
+            position += chunk;
+        }
+
+        detector.dataEnd();
+
+        var encoding = detector.getDetectedCharset();
+
+        if (encoding == null) {
+            throw new InvalidXmlException();
+        }
+
+        var charset = forName(encoding);
+
+        // An ASCII only sample does not rule out UTF-8 further down
+        if (charset.equals(StandardCharsets.US_ASCII)) {
+            return StandardCharsets.UTF_8;
+        }
+
+        return charset;
+    }
+
+    private static @NonNull Charset forName(@NonNull String encoding) {
+        var charset = COMMON_CHARSETS.get(encoding.toLowerCase(Locale.ROOT));
+
+        return charset != null ? charset : Charset.forName(encoding);
+    }
+
+    private int indexOfDeclaration(
+        byte @NonNull [] payload,
+        int length,
+        @NonNull Charset charset,
+        int from
+    ) {
+        var pattern = "<?xml".getBytes(charset);
+        int limit = Math.min(length, from + DECLARATION_SEARCH_LIMIT);
+
+        for (int i = from; i <= limit - pattern.length; i++) {
+            if (
+                Arrays.equals(
+                    payload,
+                    i,
+                    i + pattern.length,
+                    pattern,
+                    0,
+                    pattern.length
+                )
+            ) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean isAsciiCompatible(@NonNull Charset charset) {
+        return (
+            charset.canEncode() &&
+            Arrays.equals(
+                "<?xml".getBytes(charset),
+                "<?xml".getBytes(StandardCharsets.US_ASCII)
+            )
+        );
+    }
+
+    private static boolean startsWith(
+        byte @NonNull [] payload,
+        int length,
+        byte @NonNull [] prefix
+    ) {
+        return (
+            length >= prefix.length &&
+            Arrays.equals(payload, 0, prefix.length, prefix, 0, prefix.length)
+        );
+    }
+}
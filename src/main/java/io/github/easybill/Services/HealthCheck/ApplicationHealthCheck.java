@@ -1,6 +1,7 @@
 package io.github.easybill.Services.HealthCheck;
 
 import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.lang.management.ManagementFactory;
 import java.util.Objects;
@@ -15,8 +16,14 @@ public final class ApplicationHealthCheck implements HealthCheck {
 
     final IApplicationConfig config;
 
-    public ApplicationHealthCheck(IApplicationConfig config) {
+    final ISchematronRuleSetRegistry ruleSetRegistry;
+
+    public ApplicationHealthCheck(
+        IApplicationConfig config,
+        ISchematronRuleSetRegistry ruleSetRegistry
+    ) {
         this.config = config;
+        this.ruleSetRegistry = ruleSetRegistry;
     }
 
     @Override
@@ -28,6 +35,14 @@ public final class ApplicationHealthCheck implements HealthCheck {
         var osBean = ManagementFactory.getOperatingSystemMXBean();
         var memBean = ManagementFactory.getMemoryMXBean();
 
+        for (var loadedRuleSet : ruleSetRegistry.getLoadedRuleSets()) {
+            response.withData(
+                "ruleSetCompileAllocatedBytes." +
+                loadedRuleSet.getRuleSet().name(),
+                loadedRuleSet.getCompileAllocatedBytes()
+            );
+        }
+
         return response
             .up()
             .withData("version", Objects.requireNonNull(config.version()))
@@ -0,0 +1,72 @@
+package io.github.easybill.Services.HealthCheck;
+
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IWarmUpService;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Ready once the warm-up has finished with the sample of every route validated.
+ * Rule sets are compiled while the application starts, and one that fails to
+ * compile prevents it from starting, so they are only reported here.
+ */
+@Readiness
+@ApplicationScoped
+public final class RuleSetHealthCheck implements HealthCheck {
+
+    final ISchematronRuleSetRegistry ruleSetRegistry;
+
+    final IWarmUpService warmUpService;
+
+    public RuleSetHealthCheck(
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IWarmUpService warmUpService
+    ) {
+        this.ruleSetRegistry = ruleSetRegistry;
+        this.warmUpService = warmUpService;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder response = HealthCheckResponse.named(
+            "RuleSets"
+        );
+
+        for (var loadedRuleSet : ruleSetRegistry.getLoadedRuleSets()) {
+            var name = loadedRuleSet.getRuleSet().name();
+
+            response
+                .withData(
+                    "ruleSetCompilationMillis." + name,
+                    loadedRuleSet.getCompilationTime().toMillis()
+                )
+                .withData(
+                    "ruleSetVersion." + name,
+                    loadedRuleSet.getRuleSet().version()
+                );
+        }
+
+        var routeResults = warmUpService.getRouteResults();
+
+        routeResults.forEach((route, validated) ->
+            response.withData(
+                "warmUpValidated." +
+                route.xmlProfileType().name() +
+                "_" +
+                route.xmlSyntaxType().name(),
+                validated
+            )
+        );
+
+        boolean warmUpFinished = warmUpService.isFinished();
+        boolean warmedUp = !routeResults.containsValue(false);
+
+        return response
+            .status(warmUpFinished && warmedUp)
+            .withData("warmUpFinished", warmUpFinished)
+            .build();
+    }
+}
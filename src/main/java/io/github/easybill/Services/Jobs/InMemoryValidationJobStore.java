@@ -0,0 +1,41 @@
+package io.github.easybill.Services.Jobs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IValidationJobStore;
+import io.github.easybill.Dtos.ValidationJob;
+import io.quarkus.arc.DefaultBean;
+import jakarta.inject.Singleton;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+@Singleton
+@DefaultBean
+public final class InMemoryValidationJobStore implements IValidationJobStore {
+
+    private final Cache<String, ValidationJob> jobs;
+
+    public InMemoryValidationJobStore(IApplicationConfig config) {
+        this.jobs =
+            Caffeine
+                .newBuilder()
+                .expireAfterWrite(config.validation().jobs().ttl())
+                .build();
+    }
+
+    @Override
+    public void save(@NonNull ValidationJob job) {
+        jobs.put(job.id(), job);
+    }
+
+    @Override
+    public void evict(@NonNull String id) {
+        jobs.invalidate(id);
+    }
+
+    @Override
+    public @NonNull Optional<ValidationJob> find(@NonNull String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.easybill.Services.Jobs;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.ISchematronValidationService;
+import io.github.easybill.Contracts.IValidationJobService;
+import io.github.easybill.Contracts.IValidationJobStore;
+import io.github.easybill.Dtos.ErrorMessage;
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ValidationJob;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Exceptions.AdmissionRejectedException;
+import io.github.easybill.Interceptors.GlobalExceptionInterceptor;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Runs submitted validations on a fixed number of workers. Jobs beyond those
+ * wait in a queue bounded by the number of jobs and the bytes of their
+ * payloads, further submissions are turned away like requests exceeding the
+ * admission queue. Workers wait for admission as long as it takes, so a job
+ * that was accepted is not turned away later on.
+ */
+@Singleton
+public final class ValidationJobService implements IValidationJobService {
+
+    private final ISchematronValidationService validationService;
+
+    private final IValidationJobStore jobStore;
+
+    private final GlobalExceptionInterceptor exceptionInterceptor;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration retryAfter;
+
+    private final long maxPendingBytes;
+
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    public ValidationJobService(
+        ISchematronValidationService validationService,
+        IValidationJobStore jobStore,
+        GlobalExceptionInterceptor exceptionInterceptor,
+        IApplicationConfig config
+    ) {
+        var jobs = config.validation().jobs();
+        int workers = Math.max(1, jobs.workers());
+
+        this.validationService = validationService;
+        this.jobStore = jobStore;
+        this.exceptionInterceptor = exceptionInterceptor;
+        this.retryAfter = config.validation().admission().retryAfter();
+        this.maxPendingBytes = jobs.maxPendingBytes().asLongValue();
+        this.executor =
+            new ThreadPoolExecutor(
+                workers,
+                workers,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobs.maxPending())),
+                Thread.ofPlatform().name("validation-job-", 0).factory()
+            );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public @NonNull ValidationJob submit(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) {
+        var job = ValidationJob.pending(
+            UUID.randomUUID().toString(),
+            Instant.now()
+        );
+
+        if (!reservePendingBytes(payload.length())) {
+            throw new AdmissionRejectedException(true, retryAfter);
+        }
+
+        jobStore.save(job);
+
+        try {
+            executor.execute(() -> {
+                try {
+                    run(job, payload, validationMode);
+                } finally {
+                    pendingBytes.addAndGet(-payload.length());
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            pendingBytes.addAndGet(-payload.length());
+            jobStore.evict(job.id());
+
+            throw new AdmissionRejectedException(true, retryAfter);
+        }
+
+        return job;
+    }
+
+    /**
+     * Reserves the bytes of a payload until its job finished. A payload above
+     * the budget is accepted once no other job is pending.
+     */
+    private boolean reservePendingBytes(long bytes) {
+        while (true) {
+            long current = pendingBytes.get();
+
+            if (current > 0 && current + bytes > maxPendingBytes) {
+                return false;
+            }
+
+            if (pendingBytes.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public @NonNull Optional<ValidationJob> find(@NonNull String id) {
+        return jobStore.find(id);
+    }
+
+    private void run(
+        @NonNull ValidationJob job,
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) {
+        jobStore.save(job.running());
+
+        try {
+            jobStore.save(
+                job.completed(
+                    validationService.validateXmlWhenAdmitted(
+                        payload,
+                        validationMode
+                    ),
+                    Instant.now()
+                )
+            );
+        } catch (Exception exception) {
+            try (var response = exceptionInterceptor.toResponse(exception)) {
+                jobStore.save(
+                    job.failed(
+                        response.getStatus(),
+                        response.getEntity() instanceof ErrorMessage errorMessage
+                            ? errorMessage.error()
+                            : null,
+                        Instant.now()
+                    )
+                );
+            }
+        }
+    }
+}
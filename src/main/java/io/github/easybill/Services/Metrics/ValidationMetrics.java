@@ -0,0 +1,133 @@
+package io.github.easybill.Services.Metrics;
+
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationStage;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Publishes the timings of the validation pipeline through Micrometer. Stage
+ * timings are taken by the pipeline itself and recorded once syntax and
+ * profile of the document are known, so every meter carries both as tags.
+ */
+@Singleton
+public final class ValidationMetrics implements IValidationMetrics {
+
+    private final Meter.MeterProvider<DistributionSummary> payloadSizes;
+
+    private final Meter.MeterProvider<Timer> stageTimers;
+
+    private final Meter.MeterProvider<Timer> ruleSetTimers;
+
+    private final Meter.MeterProvider<Timer> transformerWaitTimers;
+
+    private final Meter.MeterProvider<Counter> rejectionCounters;
+
+    public ValidationMetrics(MeterRegistry meterRegistry) {
+        this.payloadSizes =
+            DistributionSummary
+                .builder("validation.payload.size")
+                .description("Size of the validated payloads")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.stageTimers =
+            Timer
+                .builder("validation.stage")
+                .description("Time spent in a stage of the validation pipeline")
+                .withRegistry(meterRegistry);
+        this.ruleSetTimers =
+            Timer
+                .builder("validation.rule_set")
+                .description("Time spent applying a schematron rule set")
+                .withRegistry(meterRegistry);
+        this.transformerWaitTimers =
+            Timer
+                .builder("validation.transformer_pool.wait")
+                .description("Time a pass waited for a pooled transformer")
+                .withRegistry(meterRegistry);
+        this.rejectionCounters =
+            Counter
+                .builder("validation.rejections")
+                .description("Requests answered with 413 or 422")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public void recordPayloadSize(
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long bytes
+    ) {
+        payloadSizes
+            .withTags(
+                "syntax",
+                xmlSyntaxType.name(),
+                "profile",
+                xmlProfileType.name()
+            )
+            .record(bytes);
+    }
+
+    @Override
+    public void recordStage(
+        @NonNull ValidationStage stage,
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long nanos
+    ) {
+        stageTimers
+            .withTags(
+                "stage",
+                stage.tag(),
+                "syntax",
+                xmlSyntaxType.name(),
+                "profile",
+                xmlProfileType.name()
+            )
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRuleSet(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull XmlProfileType xmlProfileType,
+        long nanos
+    ) {
+        ruleSetTimers
+            .withTags(
+                "rule_set",
+                ruleSet.name(),
+                "syntax",
+                xmlSyntaxType.name(),
+                "profile",
+                xmlProfileType.name()
+            )
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTransformerWait(
+        @NonNull SchematronRuleSet ruleSet,
+        long nanos
+    ) {
+        transformerWaitTimers
+            .withTags("rule_set", ruleSet.name())
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRejection(@NonNull String reason) {
+        rejectionCounters.withTags("reason", reason).increment();
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IEncodingResolver;
+import io.github.easybill.Contracts.IPayloadReader;
+import io.github.easybill.Contracts.IXmlSniffer;
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ResolvedEncoding;
+import io.github.easybill.Exceptions.InvalidXmlException;
+import io.github.easybill.Exceptions.ParsingException;
+import io.github.easybill.Exceptions.PayloadTooLargeException;
+import jakarta.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Buffers a payload while enforcing {@code app.validation.max-payload-size}.
+ * As soon as the first few KiB have arrived the root element is checked, so
+ * documents that are no invoice at all are turned away before the rest of
+ * them is read.
+ */
+@Singleton
+public final class PayloadReader implements IPayloadReader {
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final int PROBE_LENGTH = 4 * 1024;
+
+    private final IEncodingResolver encodingResolver;
+
+    private final IXmlSniffer xmlSniffer;
+
+    private final long maxPayloadSize;
+
+    public PayloadReader(
+        IEncodingResolver encodingResolver,
+        IXmlSniffer xmlSniffer,
+        IApplicationConfig config
+    ) {
+        this.encodingResolver = encodingResolver;
+        this.xmlSniffer = xmlSniffer;
+        this.maxPayloadSize =
+            Math.min(
+                config.validation().maxPayloadSize().asLongValue(),
+                MAX_ARRAY_SIZE
+            );
+    }
+
+    @Override
+    public @NonNull Payload read(
+        @NonNull InputStream inputStream,
+        long expectedLength
+    ) throws IOException {
+        if (expectedLength > maxPayloadSize) {
+            throw new PayloadTooLargeException(maxPayloadSize);
+        }
+
+        // the announced length is up to the client, so it only caps growth
+        var buffer = new byte[
+            (int) Math.min(
+                expectedLength >= 0 ? expectedLength : INITIAL_CAPACITY,
+                Math.min(INITIAL_CAPACITY, maxPayloadSize)
+            )
+        ];
+        int length = 0;
+        boolean probed = false;
+
+        while (true) {
+            if (length == buffer.length) {
+                int next = inputStream.read();
+
+                if (next == -1) {
+                    break;
+                }
+
+                if (length == maxPayloadSize) {
+                    throw new PayloadTooLargeException(maxPayloadSize);
+                }
+
+                buffer = Arrays.copyOf(buffer, grow(length, expectedLength));
+                buffer[length++] = (byte) next;
+            }
+
+            int read = inputStream.read(buffer, length, buffer.length - length);
+
+            if (read == -1) {
+                break;
+            }
+
+            length += read;
+
+            if (!probed && length >= PROBE_LENGTH) {
+                probed = true;
+                probeRootElement(buffer, length);
+            }
+        }
+
+        return Payload.wrap(buffer, length);
+    }
+
+    /**
+     * Doubles the buffer, so it never exceeds twice the bytes that actually
+     * arrived. A buffer still short of the announced length grows no further
+     * than that length, so a correctly announced payload fills its buffer.
+     */
+    private int grow(int length, long expectedLength) {
+        long capacity = Math.min(
+            Math.max((long) length * 2, INITIAL_CAPACITY),
+            maxPayloadSize
+        );
+
+        return (int) (expectedLength > length
+                ? Math.min(capacity, expectedLength)
+                : capacity);
+    }
+
+    /**
+     * Throws an {@link InvalidXmlException} once the prefix proves the root
+     * element to be neither a UBL nor a CII invoice. Prefixes that do not
+     * reach the root element are left to the full parse.
+     */
+    private void probeRootElement(byte @NonNull [] buffer, int length) {
+        ResolvedEncoding encoding;
+
+        try {
+            encoding = encodingResolver.resolve(buffer, length);
+        } catch (InvalidXmlException exception) {
+            return;
+        }
+
+        try (
+            var reader = new InputStreamReader(
+                new ByteArrayInputStream(
+                    buffer,
+                    encoding.offset(),
+                    length - encoding.offset()
+                ),
+                encoding.charset()
+            )
+        ) {
+            xmlSniffer.sniffSyntax(reader);
+        } catch (ParsingException | IOException exception) {
+            // the prefix ends before the root element is complete
+        }
+    }
+}
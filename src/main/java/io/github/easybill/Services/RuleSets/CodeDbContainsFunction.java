@@ -0,0 +1,214 @@
+package io.github.easybill.Services.RuleSets;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import net.sf.saxon.expr.Expression;
+import net.sf.saxon.expr.StaticContext;
+import net.sf.saxon.expr.StringLiteral;
+import net.sf.saxon.expr.XPathContext;
+import net.sf.saxon.functions.ResolveURI;
+import net.sf.saxon.lib.ExtensionFunctionCall;
+import net.sf.saxon.lib.ExtensionFunctionDefinition;
+import net.sf.saxon.om.Item;
+import net.sf.saxon.om.Sequence;
+import net.sf.saxon.om.StructuredQName;
+import net.sf.saxon.trans.XPathException;
+import net.sf.saxon.value.BooleanValue;
+import net.sf.saxon.value.SequenceType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implements {@code codedb:contains($codeDb, $listId, $value)}, which the
+ * build substitutes for lookups of the form
+ * {@code document($codeDb)//cl[@id=$listId]/enumeration[@value=$value]}.
+ * A code database is indexed once, when the first stylesheet referring to it
+ * is compiled, and shared by every transformation afterwards.
+ */
+final class CodeDbContainsFunction extends ExtensionFunctionDefinition {
+
+    static final String NAMESPACE =
+        "https://github.com/easybill/e-invoice-validator/codedb";
+
+    private static final StructuredQName NAME = new StructuredQName(
+        "codedb",
+        NAMESPACE,
+        "contains"
+    );
+
+    private final Map<String, Map<String, Set<String>>> codeDbs =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public StructuredQName getFunctionQName() {
+        return NAME;
+    }
+
+    @Override
+    public SequenceType[] getArgumentTypes() {
+        return new SequenceType[] {
+            SequenceType.SINGLE_STRING,
+            SequenceType.SINGLE_STRING,
+            SequenceType.OPTIONAL_STRING,
+        };
+    }
+
+    @Override
+    public SequenceType getResultType(SequenceType[] suppliedArgumentTypes) {
+        return SequenceType.SINGLE_BOOLEAN;
+    }
+
+    @Override
+    public ExtensionFunctionCall makeCallExpression() {
+        return new CodeDbContainsCall();
+    }
+
+    private @NonNull Map<String, Set<String>> codeDb(@NonNull String uri)
+        throws XPathException {
+        var codeDb = codeDbs.get(uri);
+
+        if (codeDb != null) {
+            return codeDb;
+        }
+
+        codeDb = load(uri);
+        var concurrentlyLoaded = codeDbs.putIfAbsent(uri, codeDb);
+
+        return concurrentlyLoaded != null ? concurrentlyLoaded : codeDb;
+    }
+
+    private static @NonNull Map<String, Set<String>> load(@NonNull String uri)
+        throws XPathException {
+        var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+
+        var codeLists = new HashMap<String, Set<String>>();
+
+        try (var inputStream = URI.create(uri).toURL().openStream()) {
+            var streamReader = inputFactory.createXMLStreamReader(inputStream);
+            Set<String> codeList = null;
+
+            try {
+                while (streamReader.hasNext()) {
+                    if (
+                        streamReader.next() != XMLStreamConstants.START_ELEMENT
+                    ) {
+                        continue;
+                    }
+
+                    switch (streamReader.getLocalName()) {
+                        case "cl" -> {
+                            var id = attribute(streamReader, "id");
+                            codeList = new HashSet<>();
+
+                            if (id != null) {
+                                codeLists.put(id, codeList);
+                            }
+                        }
+                        case "enumeration" -> {
+                            var value = attribute(streamReader, "value");
+
+                            if (codeList != null && value != null) {
+                                codeList.add(value);
+                            }
+                        }
+                        default -> {}
+                    }
+                }
+            } finally {
+                streamReader.close();
+            }
+        } catch (IOException | XMLStreamException exception) {
+            throw new XPathException(
+                "Code database " + uri + " could not be read",
+                exception
+            );
+        }
+
+        return Map.copyOf(codeLists);
+    }
+
+    private static @Nullable String attribute(
+        @NonNull XMLStreamReader streamReader,
+        @NonNull String localName
+    ) {
+        for (int i = 0; i < streamReader.getAttributeCount(); i++) {
+            if (localName.equals(streamReader.getAttributeLocalName(i))) {
+                return streamReader.getAttributeValue(i);
+            }
+        }
+
+        return null;
+    }
+
+    private final class CodeDbContainsCall extends ExtensionFunctionCall {
+
+        private @Nullable Map<String, Set<String>> codeLists;
+
+        @Override
+        public void supplyStaticContext(
+            StaticContext context,
+            int locationId,
+            Expression[] arguments
+        ) throws XPathException {
+            if (!(arguments[0] instanceof StringLiteral codeDb)) {
+                throw new XPathException(
+                    "The code database of codedb:contains() must be a literal"
+                );
+            }
+
+            try {
+                codeLists =
+                    codeDb(
+                        ResolveURI
+                            .makeAbsolute(
+                                codeDb.stringify(),
+                                context.getStaticBaseURI()
+                            )
+                            .toString()
+                    );
+            } catch (URISyntaxException exception) {
+                throw new XPathException(exception);
+            }
+        }
+
+        @Override
+        public void copyLocalData(ExtensionFunctionCall destination) {
+            ((CodeDbContainsCall) destination).codeLists = codeLists;
+        }
+
+        @Override
+        public Sequence call(XPathContext context, Sequence[] arguments)
+            throws XPathException {
+            var codeLists = this.codeLists;
+
+            if (codeLists == null) {
+                throw new XPathException(
+                    "codedb:contains() is not bound to a code database"
+                );
+            }
+
+            Item value = arguments[2].head();
+
+            if (value == null) {
+                return BooleanValue.FALSE;
+            }
+
+            var codeList = codeLists.get(arguments[1].head().getStringValue());
+
+            return BooleanValue.get(
+                codeList != null && codeList.contains(value.getStringValue())
+            );
+        }
+    }
+}
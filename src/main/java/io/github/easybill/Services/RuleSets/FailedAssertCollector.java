@@ -0,0 +1,325 @@
+package io.github.easybill.Services.RuleSets;
+
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Dtos.ValidationResultField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Receives the SVRL output of a rule set pass as SAX events and keeps only the
+ * failed assertions. Active patterns and fired rules are dropped as they
+ * arrive, so no SVRL tree is built for a pass. If requested, the pass is
+ * aborted by throwing from the handler once the first fatal assertion was
+ * collected.
+ * <p>
+ * The collectors of a pass split by {@link LineItemPasses} additionally
+ * record where each failed assertion was raised, relative to the patterns and
+ * line items of the document, so {@link #merge} can restore the order of an
+ * unsplit pass.
+ */
+final class FailedAssertCollector extends DefaultHandler {
+
+    static final String SVRL_NAMESPACE = "http://purl.oclc.org/dsdl/svrl";
+
+    private final List<@NonNull ValidationResultField> errors =
+        new ArrayList<>();
+
+    private final List<@NonNull ValidationResultField> warnings =
+        new ArrayList<>();
+
+    private final StringBuilder text = new StringBuilder();
+
+    private final boolean stopAtFirstFatal;
+
+    private final boolean tracksPositions;
+
+    /**
+     * Index of the first line item of a line item pass, or -1 for the pass
+     * over the rest of the document.
+     */
+    private final int firstLineItem;
+
+    private final List<@NonNull Long> errorPositions = new ArrayList<>();
+
+    private final List<@NonNull Long> warningPositions = new ArrayList<>();
+
+    /**
+     * Line items seen by each pattern started so far.
+     */
+    private final List<@NonNull Integer> lineItemCounts = new ArrayList<>();
+
+    private boolean stoppedEarly;
+
+    private @Nullable FailedAssert failedAssert;
+
+    /**
+     * Depth of the current element below the failed assertion, which is at
+     * depth zero.
+     */
+    private int depth;
+
+    private boolean inText;
+
+    FailedAssertCollector(boolean stopAtFirstFatal) {
+        this(stopAtFirstFatal, false, -1);
+    }
+
+    private FailedAssertCollector(
+        boolean stopAtFirstFatal,
+        boolean tracksPositions,
+        int firstLineItem
+    ) {
+        this.stopAtFirstFatal = stopAtFirstFatal;
+        this.tracksPositions = tracksPositions;
+        this.firstLineItem = firstLineItem;
+    }
+
+    /**
+     * @return a collector for the pass over the document without its line
+     * items, which starts a pattern with every {@code svrl:active-pattern}
+     */
+    static @NonNull FailedAssertCollector forDocument() {
+        return new FailedAssertCollector(false, true, -1);
+    }
+
+    /**
+     * @return a collector for a pass over the line items starting at the given
+     * index, whose patterns are started by {@link #startPattern()}
+     */
+    static @NonNull FailedAssertCollector forLineItems(int firstLineItem) {
+        return new FailedAssertCollector(false, true, firstLineItem);
+    }
+
+    @Override
+    public void startElement(
+        String uri,
+        String localName,
+        String qName,
+        Attributes attributes
+    ) {
+        var current = failedAssert;
+
+        if (current == null) {
+            if (tracksPositions) {
+                if (isSvrlElement(uri, localName, "active-pattern")) {
+                    startPattern();
+                } else if (
+                    LineItemPasses.NAMESPACE.equals(uri) &&
+                    !lineItemCounts.isEmpty()
+                ) {
+                    int last = lineItemCounts.size() - 1;
+
+                    lineItemCounts.set(last, lineItemCounts.get(last) + 1);
+                }
+            }
+
+            if (isSvrlElement(uri, localName, "failed-assert")) {
+                failedAssert =
+                    new FailedAssert(
+                        attributes.getValue("id"),
+                        attributes.getValue("location"),
+                        attributes.getValue("flag")
+                    );
+                depth = 0;
+            }
+
+            return;
+        }
+
+        depth++;
+
+        if (depth == 1 && isSvrlElement(uri, localName, "text")) {
+            inText = true;
+        } else if (inText && depth == 2) {
+            // only the character data directly inside svrl:text is a message
+            flushText(current);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName)
+        throws SAXException {
+        var current = failedAssert;
+
+        if (current == null) {
+            return;
+        }
+
+        if (depth == 0) {
+            var field = ValidationResultField.fromFailedAssert(
+                current.id,
+                current.location,
+                current.flag,
+                current.messages
+            );
+
+            if (Objects.equals(current.flag, "fatal")) {
+                errors.add(field);
+
+                if (tracksPositions) {
+                    errorPositions.add(position());
+                }
+            } else if (Objects.equals(current.flag, "warning")) {
+                warnings.add(field);
+
+                if (tracksPositions) {
+                    warningPositions.add(position());
+                }
+            }
+
+            failedAssert = null;
+
+            if (stopAtFirstFatal && !errors.isEmpty()) {
+                stoppedEarly = true;
+
+                throw new SAXException("Stopped at the first fatal assertion");
+            }
+
+            return;
+        }
+
+        if (inText && depth == 1) {
+            flushText(current);
+            inText = false;
+        }
+
+        depth--;
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inText && depth == 1) {
+            text.append(ch, start, length);
+        }
+    }
+
+    /**
+     * @return whether the pass was aborted by this handler rather than failing
+     * on its own
+     */
+    boolean hasStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    @NonNull
+    SchematronReport toReport() {
+        return new SchematronReport(errors, warnings);
+    }
+
+    void startPattern() {
+        lineItemCounts.add(0);
+    }
+
+    /**
+     * @return whether every pattern came across the given number of line
+     * items, which is what the line item passes evaluated
+     */
+    boolean hasSeenLineItems(int lineItems) {
+        return (
+            !lineItemCounts.isEmpty() &&
+            lineItemCounts.stream().allMatch(count -> count == lineItems)
+        );
+    }
+
+    /**
+     * Orders the failed assertions of a pattern by where they were raised:
+     * before the first line item, within the first line item, between the
+     * first and the second one and so on. Within these, they keep the order
+     * of their pass.
+     */
+    static @NonNull SchematronReport merge(
+        @NonNull List<@NonNull FailedAssertCollector> collectors
+    ) {
+        var errors = new ArrayList<Map.Entry<Long, ValidationResultField>>();
+        var warnings = new ArrayList<Map.Entry<Long, ValidationResultField>>();
+
+        for (var collector : collectors) {
+            for (int i = 0; i < collector.errors.size(); i++) {
+                errors.add(
+                    Map.entry(
+                        collector.errorPositions.get(i),
+                        collector.errors.get(i)
+                    )
+                );
+            }
+
+            for (int i = 0; i < collector.warnings.size(); i++) {
+                warnings.add(
+                    Map.entry(
+                        collector.warningPositions.get(i),
+                        collector.warnings.get(i)
+                    )
+                );
+            }
+        }
+
+        // the sort is stable, which keeps the order within a position
+        errors.sort(Map.Entry.comparingByKey());
+        warnings.sort(Map.Entry.comparingByKey());
+
+        return new SchematronReport(
+            errors.stream().map(Map.Entry::getValue).toList(),
+            warnings.stream().map(Map.Entry::getValue).toList()
+        );
+    }
+
+    /**
+     * Positions in the document pass are even and those in the line item
+     * passes odd, so the assertions within a line item sort between those
+     * before and after it.
+     */
+    private long position() {
+        int pattern = lineItemCounts.size();
+        int lineItems = pattern == 0 ? 0 : lineItemCounts.get(pattern - 1);
+        long position = firstLineItem < 0
+            ? 2L * lineItems
+            : 2L * (firstLineItem + lineItems - 1) + 1;
+
+        return ((long) pattern << 32) | position;
+    }
+
+    private void flushText(@NonNull FailedAssert current) {
+        if (text.length() > 0) {
+            current.messages.add(text.toString());
+            text.setLength(0);
+        }
+    }
+
+    private static boolean isSvrlElement(
+        String uri,
+        String localName,
+        String expectedLocalName
+    ) {
+        return (
+            SVRL_NAMESPACE.equals(uri) && expectedLocalName.equals(localName)
+        );
+    }
+
+    private static final class FailedAssert {
+
+        private final @Nullable String id;
+
+        private final @Nullable String location;
+
+        private final @Nullable String flag;
+
+        private final List<@NonNull String> messages = new ArrayList<>();
+
+        private FailedAssert(
+            @Nullable String id,
+            @Nullable String location,
+            @Nullable String flag
+        ) {
+            this.id = id;
+            this.location = location;
+            this.flag = flag;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package io.github.easybill.Services.RuleSets;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.SAXDestination;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+import net.sf.saxon.s9api.XdmItem;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmValue;
+import net.sf.saxon.s9api.XsltCompiler;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Splits a pass of a rule set over an invoice with many line items. The rule
+ * set is compiled through a stylesheet importing it, which marks every line
+ * item reached by a pattern and skips it if {@link #SKIP} is set. The document
+ * is then validated once without its line items, while chunks of line items
+ * are validated on a fork/join pool by applying the modes of all patterns to
+ * them. Line items are validated within the whole document, so rules looking
+ * beyond their line item see what they would see in an unsplit pass.
+ */
+final class LineItemPasses {
+
+    static final String NAMESPACE =
+        "https://github.com/easybill/e-invoice-validator/line-items";
+
+    static final QName SKIP = new QName(NAMESPACE, "skip");
+
+    private static final String XSL_NAMESPACE =
+        "http://www.w3.org/1999/XSL/Transform";
+
+    private static final String CAC_NAMESPACE =
+        "urn:oasis:names:specification:ubl:schema:xsd:CommonAggregateComponents-2";
+
+    private static final String RAM_NAMESPACE =
+        "urn:un:unece:uncefact:data:standard:ReusableAggregateBusinessInformationEntity:100";
+
+    private static final String RULE_SET_HREF = "rule-set.xslt";
+
+    private static final List<String> LINE_ITEMS = List.of(
+        "cac:InvoiceLine",
+        "cac:CreditNoteLine",
+        "ram:IncludedSupplyChainTradeLineItem"
+    );
+
+    /**
+     * Sub lines are validated along with the line item containing them.
+     */
+    private static final String LINE_ITEM_PATTERN = LINE_ITEMS
+        .stream()
+        .map(lineItem ->
+            lineItem +
+            LINE_ITEMS
+                .stream()
+                .map(ancestor -> "self::" + ancestor)
+                .collect(Collectors.joining(" or ", "[not(ancestor::*[", "])]"))
+        )
+        .collect(Collectors.joining(" | "));
+
+    private static final String ROOT_TEMPLATE =
+        "/xsl:stylesheet/xsl:template[@match = '/' and not(@mode)]";
+
+    private final XsltExecutable executable;
+
+    private final List<@NonNull QName> patternModes;
+
+    private final XPathExecutable lineItemSelector;
+
+    private final Partitioning partitioning;
+
+    private LineItemPasses(
+        @NonNull XsltExecutable executable,
+        @NonNull List<@NonNull QName> patternModes,
+        @NonNull XPathExecutable lineItemSelector,
+        @NonNull Partitioning partitioning
+    ) {
+        this.executable = executable;
+        this.patternModes = patternModes;
+        this.lineItemSelector = lineItemSelector;
+        this.partitioning = partitioning;
+    }
+
+    /**
+     * Compiles the XSLT artifact of a rule set along with the line item
+     * templates. Returns null if the artifact does not run its patterns from
+     * the root template the way the schematron compiler generates it.
+     */
+    static @Nullable LineItemPasses compile(
+        @NonNull Processor processor,
+        @NonNull XsltCompiler compiler,
+        byte @NonNull [] artifact,
+        @NonNull String systemId,
+        @NonNull Partitioning partitioning
+    ) throws SaxonApiException {
+        var stylesheet = processor
+            .newDocumentBuilder()
+            .build(
+                new StreamSource(new ByteArrayInputStream(artifact), systemId)
+            );
+        var xpathCompiler = processor.newXPathCompiler();
+        xpathCompiler.declareNamespace("xsl", XSL_NAMESPACE);
+        xpathCompiler.declareNamespace(
+            "svrl",
+            FailedAssertCollector.SVRL_NAMESPACE
+        );
+
+        var patternModes = new ArrayList<@NonNull String>();
+
+        for (XdmItem item : xpathCompiler.evaluate(
+            ROOT_TEMPLATE + "//xsl:apply-templates[@select = '/']/@mode",
+            stylesheet
+        )) {
+            patternModes.add(item.getStringValue());
+        }
+
+        int activePatterns = xpathCompiler
+            .evaluate(ROOT_TEMPLATE + "//svrl:active-pattern", stylesheet)
+            .size();
+
+        if (patternModes.isEmpty() || patternModes.size() != activePatterns) {
+            return null;
+        }
+
+        // the rule set is imported under its own system id, so code lists
+        // and other documents it refers to resolve as they do without import
+        compiler.setURIResolver((href, base) ->
+            RULE_SET_HREF.equals(href)
+                ? new StreamSource(new ByteArrayInputStream(artifact), systemId)
+                : null
+        );
+
+        // a module importing one with its own system id counts as a cycle
+        var executable = compiler.compile(
+            new StreamSource(
+                new StringReader(createStylesheet(patternModes)),
+                systemId + ".line-items"
+            )
+        );
+
+        return new LineItemPasses(
+            executable,
+            patternModes.stream().map(QName::new).toList(),
+            createLineItemCompiler(processor)
+                .compile("//(" + LINE_ITEM_PATTERN + ")"),
+            partitioning
+        );
+    }
+
+    /**
+     * @return the stylesheet of the rule set along with the line item
+     * templates, which runs an unsplit pass unless {@link #SKIP} is set
+     */
+    @NonNull
+    XsltExecutable getExecutable() {
+        return executable;
+    }
+
+    /**
+     * @return the outermost line items of the document in document order, or
+     * null if there are too few of them for splitting the pass to pay off
+     */
+    @Nullable
+    List<@NonNull XdmNode> selectLineItems(@NonNull XdmNode document)
+        throws SaxonApiException {
+        var selector = lineItemSelector.load();
+        selector.setContextItem(document);
+
+        var lineItems = new ArrayList<@NonNull XdmNode>();
+
+        for (XdmItem item : selector.evaluate()) {
+            lineItems.add((XdmNode) item);
+        }
+
+        return lineItems.size() < partitioning.minLineItems()
+            ? null
+            : lineItems;
+    }
+
+    /**
+     * Validates the given line items in chunks on the fork/join pool while
+     * the document pass validates the rest of the document on the calling
+     * thread. Once the result is known, chunks which have not started are
+     * cancelled. Fork/join tasks are not interrupted, so running chunks check
+     * a flag before each pattern instead.
+     *
+     * @return the collectors of all passes, or null if the document pass did
+     * not come across the line items the chunks were made of
+     */
+    @Nullable
+    List<@NonNull FailedAssertCollector> apply(
+        @NonNull XdmNode document,
+        @NonNull List<@NonNull XdmNode> lineItems,
+        @NonNull DocumentPass documentPass
+    ) throws SaxonApiException, InterruptedException {
+        int chunkSize = Math.max(1, partitioning.chunkSize());
+        var futures = new ArrayList<Future<@NonNull FailedAssertCollector>>();
+        var cancelled = new AtomicBoolean();
+
+        try {
+            for (int from = 0; from < lineItems.size(); from += chunkSize) {
+                int firstLineItem = from;
+                var chunk = lineItems.subList(
+                    from,
+                    Math.min(lineItems.size(), from + chunkSize)
+                );
+
+                futures.add(
+                    partitioning
+                        .executorService()
+                        .submit(() ->
+                            applyToLineItems(
+                                document,
+                                firstLineItem,
+                                chunk,
+                                cancelled
+                            )
+                        )
+                );
+            }
+
+            var documentCollector = documentPass.apply();
+
+            if (!documentCollector.hasSeenLineItems(lineItems.size())) {
+                return null;
+            }
+
+            var collectors = new ArrayList<@NonNull FailedAssertCollector>();
+            collectors.add(documentCollector);
+
+            for (Future<@NonNull FailedAssertCollector> future : futures) {
+                collectors.add(awaitCollector(future));
+            }
+
+            return collectors;
+        } finally {
+            // chunks which are still running are of no use once one failed
+            cancelled.set(true);
+
+            for (Future<@NonNull FailedAssertCollector> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private @NonNull FailedAssertCollector applyToLineItems(
+        @NonNull XdmNode document,
+        int firstLineItem,
+        @NonNull List<@NonNull XdmNode> lineItems,
+        @NonNull AtomicBoolean cancelled
+    ) throws SaxonApiException {
+        var collector = FailedAssertCollector.forLineItems(firstLineItem);
+        var transformer = executable.load30();
+        var selection = new XdmValue(lineItems);
+
+        transformer.setGlobalContextItem(document);
+
+        for (QName patternMode : patternModes) {
+            if (cancelled.get()) {
+                throw new CancellationException();
+            }
+
+            collector.startPattern();
+            transformer.setInitialMode(patternMode);
+            transformer.applyTemplates(
+                selection,
+                new SAXDestination(collector)
+            );
+        }
+
+        return collector;
+    }
+
+    private static @NonNull FailedAssertCollector awaitCollector(
+        @NonNull Future<@NonNull FailedAssertCollector> future
+    ) throws SaxonApiException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof SaxonApiException cause) {
+                throw cause;
+            }
+
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw new SaxonApiException(exception);
+        }
+    }
+
+    private static @NonNull XPathCompiler createLineItemCompiler(
+        @NonNull Processor processor
+    ) {
+        var xpathCompiler = processor.newXPathCompiler();
+        xpathCompiler.declareNamespace("cac", CAC_NAMESPACE);
+        xpathCompiler.declareNamespace("ram", RAM_NAMESPACE);
+
+        return xpathCompiler;
+    }
+
+    /**
+     * The line item template in the modes of the patterns wins over the rules
+     * of the imported rule set by import precedence and hands the line item on
+     * to them with {@code xsl:next-match}. The one in the default mode spares
+     * the document pass from walking the skipped line items there.
+     */
+    private static @NonNull String createStylesheet(
+        @NonNull List<@NonNull String> patternModes
+    ) {
+        return """
+            <xsl:stylesheet version="3.0"\
+                xmlns:xsl="%s"\
+                xmlns:xs="http://www.w3.org/2001/XMLSchema"\
+                xmlns:line-items="%s"\
+                xmlns:cac="%s"\
+                xmlns:ram="%s">\
+              <xsl:import href="%s"/>\
+              <xsl:param name="line-items:skip" as="xs:boolean" select="false()"/>\
+              <xsl:template match="%s" mode="%s">\
+                <line-items:line-item/>\
+                <xsl:if test="not($line-items:skip)"><xsl:next-match/></xsl:if>\
+              </xsl:template>\
+              <xsl:template match="%s">\
+                <xsl:if test="not($line-items:skip)"><xsl:next-match/></xsl:if>\
+              </xsl:template>\
+            </xsl:stylesheet>\
+            """.formatted(
+                XSL_NAMESPACE,
+                NAMESPACE,
+                CAC_NAMESPACE,
+                RAM_NAMESPACE,
+                RULE_SET_HREF,
+                LINE_ITEM_PATTERN,
+                String.join(" ", patternModes),
+                LINE_ITEM_PATTERN
+            );
+    }
+
+    /**
+     * The pool the line item chunks run on, the number of line items from
+     * which a pass is split and the number of line items per chunk.
+     */
+    record Partitioning(
+        @NonNull ExecutorService executorService,
+        int minLineItems,
+        int chunkSize
+    ) {}
+
+    @FunctionalInterface
+    interface DocumentPass {
+        @NonNull
+        FailedAssertCollector apply()
+            throws SaxonApiException, InterruptedException;
+    }
+}
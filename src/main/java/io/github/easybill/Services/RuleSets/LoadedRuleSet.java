@@ -0,0 +1,332 @@
+package io.github.easybill.Services.RuleSets;
+
+import com.sun.management.ThreadMXBean;
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationMode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SAXDestination;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class LoadedRuleSet {
+
+    @NonNull
+    private final SchematronRuleSet ruleSet;
+
+    @NonNull
+    private final XsltExecutable executable;
+
+    @NonNull
+    private final TransformerPool transformerPool;
+
+    @NonNull
+    private final String artifactDigest;
+
+    private final long compileAllocatedBytes;
+
+    @NonNull
+    private final Duration compilationTime;
+
+    @Nullable
+    private final IRuleProfiler ruleProfiler;
+
+    @Nullable
+    private final LineItemPasses lineItemPasses;
+
+    private LoadedRuleSet(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull XsltExecutable executable,
+        @NonNull TransformerPool transformerPool,
+        @NonNull String artifactDigest,
+        long compileAllocatedBytes,
+        @NonNull Duration compilationTime,
+        @Nullable IRuleProfiler ruleProfiler,
+        @Nullable LineItemPasses lineItemPasses
+    ) {
+        this.ruleSet = ruleSet;
+        this.executable = executable;
+        this.transformerPool = transformerPool;
+        this.artifactDigest = artifactDigest;
+        this.compileAllocatedBytes = compileAllocatedBytes;
+        this.compilationTime = compilationTime;
+        this.ruleProfiler = ruleProfiler;
+        this.lineItemPasses = lineItemPasses;
+    }
+
+    /**
+     * Compiles the precompiled XSLT artifact of the given rule set with the
+     * shared processor. The bytes allocated by the current thread while doing
+     * so are recorded. They include the garbage of parsing and compiling the
+     * artifact, so they tell the cost of loading the rule set rather than the
+     * heap it retains. Passes
+     * share up to {@code transformerPoolSize} transformers. If a profiler is
+     * passed, the rule set is compiled with tracing and every pass is recorded
+     * by it. If a partitioning is passed instead, complete passes over
+     * invoices with enough line items are split by {@link LineItemPasses}.
+     */
+    public static @NonNull LoadedRuleSet load(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull Processor processor,
+        int transformerPoolSize,
+        @NonNull IValidationMetrics metrics,
+        @Nullable IRuleProfiler ruleProfiler,
+        LineItemPasses.@Nullable Partitioning partitioning
+    ) {
+        var resource = LoadedRuleSet.class.getResource(ruleSet.resourcePath());
+
+        if (resource == null) {
+            throw new RuntimeException(
+                String.format(
+                    "Schematron artifact for %s %s is missing",
+                    ruleSet.family(),
+                    ruleSet.syntax()
+                )
+            );
+        }
+
+        byte[] artifact;
+
+        try (var inputStream = resource.openStream()) {
+            artifact = inputStream.readAllBytes();
+        } catch (IOException exception) {
+            throw new RuntimeException(
+                String.format(
+                    "Schematron artifact for %s %s could not be read",
+                    ruleSet.family(),
+                    ruleSet.syntax()
+                ),
+                exception
+            );
+        }
+
+        long allocatedBytesBefore = getAllocatedBytesOfCurrentThread();
+        long compilationStartedAt = System.nanoTime();
+
+        var compiler = processor.newXsltCompiler();
+
+        if (ruleProfiler != null) {
+            compiler.setCompileWithTracing(true);
+            compiler
+                .getUnderlyingCompilerInfo()
+                .setCodeInjector(new RuleTraceCodeInjector());
+        }
+
+        XsltExecutable executable;
+        LineItemPasses lineItemPasses = null;
+
+        try {
+            if (partitioning != null) {
+                lineItemPasses =
+                    LineItemPasses.compile(
+                        processor,
+                        compiler,
+                        artifact,
+                        resource.toExternalForm(),
+                        partitioning
+                    );
+            }
+
+            executable =
+                lineItemPasses != null
+                    ? lineItemPasses.getExecutable()
+                    : compiler.compile(
+                        new StreamSource(
+                            new ByteArrayInputStream(artifact),
+                            resource.toExternalForm()
+                        )
+                    );
+        } catch (SaxonApiException exception) {
+            throw new RuntimeException(
+                String.format(
+                    "Schematron validation for %s %s failed",
+                    ruleSet.family(),
+                    ruleSet.syntax()
+                ),
+                exception
+            );
+        }
+
+        var compilationTime = Duration.ofNanos(
+            System.nanoTime() - compilationStartedAt
+        );
+        long compileAllocatedBytes = allocatedBytesBefore < 0
+            ? -1
+            : getAllocatedBytesOfCurrentThread() - allocatedBytesBefore;
+
+        return new LoadedRuleSet(
+            ruleSet,
+            executable,
+            new TransformerPool(
+                ruleSet,
+                executable,
+                transformerPoolSize,
+                metrics
+            ),
+            sha256(artifact),
+            compileAllocatedBytes,
+            compilationTime,
+            ruleProfiler,
+            lineItemPasses
+        );
+    }
+
+    /**
+     * Runs the rule set against an already parsed document. The document must
+     * have been built with the processor the rule set was compiled with. The
+     * SVRL output is consumed while it is produced, keeping only the failed
+     * assertions. In fail-fast mode the pass ends with the first fatal one.
+     * The pass waits if every pooled transformer is in use. A complete pass
+     * over an invoice with enough line items is split if enabled, falling
+     * back to an unsplit pass if the rule set does not suit the split.
+     */
+    public @NonNull SchematronReport applySchematronValidation(
+        @NonNull XdmNode document,
+        @NonNull ValidationMode validationMode
+    ) throws SaxonApiException, InterruptedException {
+        var lineItemPasses = this.lineItemPasses;
+
+        if (
+            lineItemPasses != null && validationMode == ValidationMode.COMPLETE
+        ) {
+            var lineItems = lineItemPasses.selectLineItems(document);
+            var collectors = lineItems == null
+                ? null
+                : lineItemPasses.apply(
+                    document,
+                    lineItems,
+                    () ->
+                        applyTransformer(
+                            document,
+                            FailedAssertCollector.forDocument(),
+                            true
+                        )
+                );
+
+            if (collectors != null) {
+                return FailedAssertCollector.merge(collectors);
+            }
+        }
+
+        return applyTransformer(
+            document,
+            new FailedAssertCollector(
+                validationMode == ValidationMode.FAIL_FAST
+            ),
+            false
+        )
+            .toReport();
+    }
+
+    private @NonNull FailedAssertCollector applyTransformer(
+        @NonNull XdmNode document,
+        @NonNull FailedAssertCollector collector,
+        boolean skipLineItems
+    ) throws SaxonApiException, InterruptedException {
+        var transformer = transformerPool.borrow();
+        var errorReporter = transformer.getErrorReporter();
+        boolean completed = false;
+
+        try {
+            transformer.setInitialContextNode(document);
+            transformer.setDestination(new SAXDestination(collector));
+
+            if (lineItemPasses != null) {
+                // pooled transformers keep the value of their last pass
+                transformer.setParameter(
+                    LineItemPasses.SKIP,
+                    new XdmAtomicValue(skipLineItems)
+                );
+            }
+
+            if (ruleProfiler != null) {
+                transformer.setTraceListener(
+                    ruleProfiler.newTraceListener(ruleSet)
+                );
+            }
+
+            transformer.setErrorReporter(error -> {
+                // aborting the pass on purpose is not worth an error in the log
+                if (!collector.hasStoppedEarly()) {
+                    errorReporter.report(error);
+                }
+            });
+
+            try {
+                transformer.transform();
+                completed = true;
+            } catch (SaxonApiException exception) {
+                if (!collector.hasStoppedEarly()) {
+                    throw exception;
+                }
+            }
+        } finally {
+            transformer.setErrorReporter(errorReporter);
+            transformerPool.release(transformer, completed);
+        }
+
+        return collector;
+    }
+
+    public @NonNull SchematronRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * @return the hex encoded SHA-256 digest of the compiled XSLT artifact,
+     * which changes with every change to the underlying schematron
+     */
+    public @NonNull String getArtifactDigest() {
+        return artifactDigest;
+    }
+
+    /**
+     * @return the bytes allocated while compiling the rule set, garbage
+     * included, or -1 if the JVM does not support measuring thread allocations
+     */
+    public long getCompileAllocatedBytes() {
+        return compileAllocatedBytes;
+    }
+
+    public @NonNull Duration getCompilationTime() {
+        return compilationTime;
+    }
+
+    private static @NonNull String sha256(byte @NonNull [] bytes) {
+        try {
+            return HexFormat
+                .of()
+                .formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static long getAllocatedBytesOfCurrentThread() {
+        var platformBean = ManagementFactory.getThreadMXBean();
+
+        if (
+            !(platformBean instanceof ThreadMXBean threadMXBean) ||
+            !threadMXBean.isThreadAllocatedMemorySupported() ||
+            !threadMXBean.isThreadAllocatedMemoryEnabled()
+        ) {
+            return -1;
+        }
+
+        return threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+}
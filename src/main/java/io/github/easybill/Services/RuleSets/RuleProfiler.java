@@ -0,0 +1,185 @@
+package io.github.easybill.Services.RuleSets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Dtos.RuleProfileEntry;
+import io.github.easybill.Dtos.RuleProfileReport;
+import io.github.easybill.Enums.RuleProfileKind;
+import io.github.easybill.Enums.SchematronRuleSet;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import net.sf.saxon.lib.TraceListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jboss.logging.Logger;
+
+/**
+ * Aggregates the timings recorded by the {@link RuleTraceListener} of every
+ * pass. Reports are taken while passes keep recording, so under load they are
+ * not an exact snapshot. If profiling is enabled, the profile is dumped once
+ * more when the application stops.
+ */
+@Singleton
+public final class RuleProfiler implements IRuleProfiler {
+
+    private static final Logger logger = Logger.getLogger(RuleProfiler.class);
+
+    private final boolean enabled;
+
+    private final int defaultTop;
+
+    private final Path dumpFile;
+
+    private final ObjectWriter objectWriter;
+
+    private final Map<@NonNull Key, @NonNull Counter> counters =
+        new ConcurrentHashMap<>();
+
+    private final LongAdder passes = new LongAdder();
+
+    public RuleProfiler(IApplicationConfig config, ObjectMapper objectMapper) {
+        var profiling = config.validation().profiling();
+
+        this.enabled = profiling.enabled();
+        this.defaultTop = Math.max(1, profiling.top());
+        this.dumpFile = Path.of(profiling.dumpFile());
+        this.objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            logger.infof("RuleProfiler: profile written to %s", dump());
+        } catch (IOException exception) {
+            logger.warnf(
+                exception,
+                "RuleProfiler: profile could not be written to %s",
+                dumpFile
+            );
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public @NonNull TraceListener newTraceListener(
+        @NonNull SchematronRuleSet ruleSet
+    ) {
+        return new RuleTraceListener(this, ruleSet);
+    }
+
+    @Override
+    public @NonNull RuleProfileReport report(
+        int top,
+        @Nullable RuleProfileKind kind
+    ) {
+        return new RuleProfileReport(
+            enabled,
+            passes.sum(),
+            entries(kind).limit(top > 0 ? top : defaultTop).toList()
+        );
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+        passes.reset();
+    }
+
+    @Override
+    public @NonNull Path dump() throws IOException {
+        var parent = dumpFile.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        objectWriter.writeValue(
+            dumpFile.toFile(),
+            new RuleProfileReport(enabled, passes.sum(), entries(null).toList())
+        );
+
+        return dumpFile;
+    }
+
+    void recordPass() {
+        passes.increment();
+    }
+
+    void record(@NonNull Key key, long nanos, long invocations) {
+        var counter = counters.computeIfAbsent(key, ignored -> new Counter());
+
+        counter.nanos.add(nanos);
+        counter.invocations.add(invocations);
+    }
+
+    private @NonNull Stream<@NonNull RuleProfileEntry> entries(
+        @Nullable RuleProfileKind kind
+    ) {
+        return counters
+            .entrySet()
+            .stream()
+            .filter(entry -> kind == null || entry.getKey().kind() == kind)
+            .map(entry -> toEntry(entry.getKey(), entry.getValue()))
+            .sorted(
+                Comparator
+                    .comparingDouble(RuleProfileEntry::totalMillis)
+                    .reversed()
+            );
+    }
+
+    private static @NonNull RuleProfileEntry toEntry(
+        @NonNull Key key,
+        @NonNull Counter counter
+    ) {
+        long nanos = counter.nanos.sum();
+        long invocations = counter.invocations.sum();
+
+        return new RuleProfileEntry(
+            key.ruleSet(),
+            key.kind(),
+            key.pattern(),
+            key.rule(),
+            key.assertion(),
+            invocations,
+            nanos / 1_000_000d,
+            invocations == 0 ? 0 : nanos / 1_000d / invocations
+        );
+    }
+
+    /**
+     * Identifies a pattern, a rule within a pattern or an assert within a
+     * rule. The pattern is the mode the schematron compiler generated for it.
+     */
+    record Key(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull RuleProfileKind kind,
+        @NonNull String pattern,
+        @Nullable String rule,
+        @Nullable String assertion
+    ) {}
+
+    private static final class Counter {
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.easybill.Services.RuleSets;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleSetExecutor;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Enums.ValidationStage;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Runs the rule sets of a validator either one after another or, if enabled,
+ * concurrently on virtual threads. The passes are independent as they only
+ * read the shared document of the request. In fail-fast mode the passes always
+ * run one after another, so the first fatal assertion skips the rest.
+ */
+@Singleton
+public final class RuleSetExecutor implements IRuleSetExecutor {
+
+    private final boolean parallelPasses;
+
+    private final ExecutorService executorService;
+
+    private final IValidationMetrics metrics;
+
+    public RuleSetExecutor(
+        IApplicationConfig config,
+        IValidationMetrics metrics
+    ) {
+        this.parallelPasses = config.validation().parallelPasses();
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+        this.metrics = metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Override
+    public @NonNull Optional<ValidationResult> apply(
+        @NonNull ValidationRequest validationRequest,
+        @NonNull Function<
+            @NonNull List<@NonNull SchematronReport>,
+            @NonNull ValidationResult
+        > resultMapper,
+        @NonNull LoadedRuleSet... ruleSets
+    ) throws Exception {
+        boolean sequential =
+            !parallelPasses ||
+            ruleSets.length < 2 ||
+            validationRequest.validationMode() == ValidationMode.FAIL_FAST;
+
+        var reports = sequential
+            ? applySequentially(validationRequest, ruleSets)
+            : applyConcurrently(validationRequest, ruleSets);
+
+        long startedAt = System.nanoTime();
+
+        var result = resultMapper.apply(reports);
+
+        metrics.recordStage(
+            ValidationStage.RESULT_MAPPING,
+            validationRequest.xmlSyntaxType(),
+            validationRequest.xmlProfileType(),
+            System.nanoTime() - startedAt
+        );
+
+        return Optional.of(result);
+    }
+
+    private List<@NonNull SchematronReport> applySequentially(
+        @NonNull ValidationRequest validationRequest,
+        @NonNull LoadedRuleSet... ruleSets
+    ) throws Exception {
+        var reports = new ArrayList<@NonNull SchematronReport>();
+        boolean failFast =
+            validationRequest.validationMode() == ValidationMode.FAIL_FAST;
+
+        for (LoadedRuleSet ruleSet : ruleSets) {
+            if (failFast && hasErrors(reports)) {
+                reports.add(SchematronReport.skipped());
+                continue;
+            }
+
+            reports.add(applyRuleSet(validationRequest, ruleSet));
+        }
+
+        return reports;
+    }
+
+    private List<@NonNull SchematronReport> applyConcurrently(
+        @NonNull ValidationRequest validationRequest,
+        @NonNull LoadedRuleSet... ruleSets
+    ) throws Exception {
+        var futures = new ArrayList<Future<@NonNull SchematronReport>>();
+
+        try {
+            for (LoadedRuleSet ruleSet : ruleSets) {
+                futures.add(
+                    executorService.submit(() ->
+                        applyRuleSet(validationRequest, ruleSet)
+                    )
+                );
+            }
+
+            var reports = new ArrayList<@NonNull SchematronReport>();
+
+            for (Future<@NonNull SchematronReport> future : futures) {
+                reports.add(awaitReport(future));
+            }
+
+            return reports;
+        } finally {
+            // passes which are still running are of no use once one failed
+            for (Future<@NonNull SchematronReport> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private @NonNull SchematronReport applyRuleSet(
+        @NonNull ValidationRequest validationRequest,
+        @NonNull LoadedRuleSet ruleSet
+    ) throws Exception {
+        long startedAt = System.nanoTime();
+
+        var report = ruleSet.applySchematronValidation(
+            validationRequest.document(),
+            validationRequest.validationMode()
+        );
+
+        metrics.recordRuleSet(
+            ruleSet.getRuleSet(),
+            validationRequest.xmlSyntaxType(),
+            validationRequest.xmlProfileType(),
+            System.nanoTime() - startedAt
+        );
+
+        return report;
+    }
+
+    private static boolean hasErrors(
+        @NonNull List<@NonNull SchematronReport> reports
+    ) {
+        return reports.stream().anyMatch(report -> !report.errors().isEmpty());
+    }
+
+    private @NonNull SchematronReport awaitReport(
+        @NonNull Future<@NonNull SchematronReport> future
+    ) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw exception;
+        }
+    }
+}
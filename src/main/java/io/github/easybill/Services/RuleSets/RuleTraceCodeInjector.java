@@ -0,0 +1,20 @@
+package io.github.easybill.Services.RuleSets;
+
+import net.sf.saxon.expr.Expression;
+import net.sf.saxon.expr.instruct.Choose;
+import net.sf.saxon.trace.XSLTTraceCodeInjector;
+
+/**
+ * Restricts tracing to what the {@link RuleProfiler} records. Templates are
+ * traced as components anyway, and of the instructions only {@code xsl:choose}
+ * and {@code xsl:if} are, which the schematron compiler generates for asserts
+ * and reports. Saxon compiles both of them to a {@link Choose}. Tracing every
+ * instruction would distort the timings.
+ */
+final class RuleTraceCodeInjector extends XSLTTraceCodeInjector {
+
+    @Override
+    protected boolean isApplicable(Expression expression) {
+        return expression instanceof Choose;
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.easybill.Services.RuleSets;
+
+import io.github.easybill.Enums.RuleProfileKind;
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import net.sf.saxon.Controller;
+import net.sf.saxon.expr.Expression;
+import net.sf.saxon.expr.Operand;
+import net.sf.saxon.expr.StringLiteral;
+import net.sf.saxon.expr.XPathContext;
+import net.sf.saxon.expr.instruct.Choose;
+import net.sf.saxon.expr.instruct.FixedAttribute;
+import net.sf.saxon.expr.instruct.FixedElement;
+import net.sf.saxon.expr.instruct.TemplateRule;
+import net.sf.saxon.lib.TraceListener;
+import net.sf.saxon.om.Item;
+import net.sf.saxon.trace.Traceable;
+import net.sf.saxon.trans.Mode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Times a single pass of a rule set compiled with
+ * {@link RuleTraceCodeInjector}. A rule is charged with the time of its
+ * template, excluding the templates applied to descendant nodes and the search
+ * for them. The search is charged to the pattern, as matching the rule
+ * contexts against every node of the document happens there. An assert is
+ * charged with the time of its evaluation, including building the failed
+ * assertion.
+ */
+final class RuleTraceListener implements TraceListener {
+
+    private static final String SVRL_NAMESPACE =
+        "http://purl.oclc.org/dsdl/svrl";
+
+    private static final Set<String> ASSERT_ELEMENTS = Set.of(
+        "failed-assert",
+        "successful-report"
+    );
+
+    private final RuleProfiler profiler;
+
+    private final SchematronRuleSet ruleSet;
+
+    private final Deque<@NonNull Frame> frames = new ArrayDeque<>();
+
+    private final Map<Choose, Optional<String>> assertions =
+        new IdentityHashMap<>();
+
+    private long ruleSearchStartedAt;
+
+    RuleTraceListener(
+        @NonNull RuleProfiler profiler,
+        @NonNull SchematronRuleSet ruleSet
+    ) {
+        this.profiler = profiler;
+        this.ruleSet = ruleSet;
+    }
+
+    @Override
+    public void open(Controller controller) {
+        profiler.recordPass();
+    }
+
+    @Override
+    public void enter(
+        Traceable traceable,
+        Map<String, Object> properties,
+        XPathContext context
+    ) {
+        if (traceable instanceof TemplateRule template) {
+            frames.push(
+                new Frame(
+                    new RuleProfiler.Key(
+                        ruleSet,
+                        RuleProfileKind.RULE,
+                        template.getMode().getModeName().getDisplayName(),
+                        String.valueOf(
+                            properties.getOrDefault(
+                                "match",
+                                template.getMatchPattern()
+                            )
+                        ),
+                        null
+                    )
+                )
+            );
+        } else if (traceable instanceof Choose choose) {
+            frames.push(new Frame(assertKey(choose)));
+        } else {
+            frames.push(new Frame(null));
+        }
+    }
+
+    @Override
+    public void leave(Traceable traceable) {
+        var frame = frames.poll();
+
+        if (frame == null || frame.key == null) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - frame.startedAt;
+
+        if (!frame.isRule()) {
+            profiler.record(frame.key, elapsed, 1);
+            return;
+        }
+
+        long selfTime = elapsed - frame.nestedNanos;
+
+        profiler.record(frame.key, selfTime, 1);
+        profiler.record(patternKey(frame.key.pattern()), selfTime, 0);
+
+        var parent = frames.peek();
+
+        if (parent != null && parent.isRule()) {
+            parent.nestedNanos += elapsed;
+        }
+    }
+
+    @Override
+    public void startRuleSearch() {
+        ruleSearchStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void endRuleSearch(Object rule, Mode mode, Item item) {
+        long elapsed = System.nanoTime() - ruleSearchStartedAt;
+
+        profiler.record(
+            patternKey(mode.getModeName().getDisplayName()),
+            elapsed,
+            1
+        );
+
+        var parent = frames.peek();
+
+        if (parent != null && parent.isRule()) {
+            parent.nestedNanos += elapsed;
+        }
+    }
+
+    private RuleProfiler.@NonNull Key patternKey(@NonNull String pattern) {
+        return new RuleProfiler.Key(
+            ruleSet,
+            RuleProfileKind.PATTERN,
+            pattern,
+            null,
+            null
+        );
+    }
+
+    /**
+     * @return the key of the assert or report the instruction was generated
+     * for, or null if it belongs to neither or is not part of a rule
+     */
+    private RuleProfiler.@Nullable Key assertKey(@NonNull Choose choose) {
+        var assertion = assertions.computeIfAbsent(
+            choose,
+            RuleTraceListener::findAssertion
+        );
+
+        if (assertion.isEmpty()) {
+            return null;
+        }
+
+        for (Frame frame : frames) {
+            if (frame.key != null && frame.isRule()) {
+                return new RuleProfiler.Key(
+                    ruleSet,
+                    RuleProfileKind.ASSERT,
+                    frame.key.pattern(),
+                    frame.key.rule(),
+                    assertion.get()
+                );
+            }
+        }
+
+        return null;
+    }
+
+    private static @NonNull Optional<String> findAssertion(
+        @NonNull Choose choose
+    ) {
+        var assertElement = findAssertElement(choose);
+
+        if (assertElement == null) {
+            return Optional.empty();
+        }
+
+        var id = findAttribute(assertElement, "id");
+
+        return Optional.ofNullable(
+            id != null ? id : findAttribute(assertElement, "test")
+        );
+    }
+
+    private static @Nullable FixedElement findAssertElement(
+        @NonNull Expression expression
+    ) {
+        if (
+            expression instanceof FixedElement element &&
+            SVRL_NAMESPACE.equals(element.getFixedElementName().getURI()) &&
+            ASSERT_ELEMENTS.contains(
+                element.getFixedElementName().getLocalPart()
+            )
+        ) {
+            return element;
+        }
+
+        for (Operand operand : expression.operands()) {
+            var element = findAssertElement(operand.getChildExpression());
+
+            if (element != null) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    private static @Nullable String findAttribute(
+        @NonNull Expression expression,
+        @NonNull String localName
+    ) {
+        if (
+            expression instanceof FixedAttribute attribute &&
+            localName.equals(attribute.getAttributeName().getLocalPart()) &&
+            attribute.getSelect() instanceof StringLiteral value
+        ) {
+            return value.stringify();
+        }
+
+        for (Operand operand : expression.operands()) {
+            var value = findAttribute(operand.getChildExpression(), localName);
+
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private static final class Frame {
+
+        private final RuleProfiler.@Nullable Key key;
+
+        private final long startedAt = System.nanoTime();
+
+        /**
+         * Time spent in templates applied by this one and in searching them,
+         * only tracked for rules.
+         */
+        private long nestedNanos;
+
+        private Frame(RuleProfiler.@Nullable Key key) {
+            this.key = key;
+        }
+
+        private boolean isRule() {
+            return key != null && key.kind() == RuleProfileKind.RULE;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.easybill.Services.RuleSets;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import net.sf.saxon.lib.FeatureKeys;
+import net.sf.saxon.s9api.DocumentBuilder;
+import net.sf.saxon.s9api.Processor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jboss.logging.Logger;
+
+@Startup
+@Singleton
+public final class SchematronRuleSetRegistry
+    implements ISchematronRuleSetRegistry {
+
+    private static final Logger logger = Logger.getLogger(
+        SchematronRuleSetRegistry.class
+    );
+
+    private static final List<String> DISABLED_PARSER_FEATURES = List.of(
+        "http://xml.org/sax/features/external-general-entities",
+        "http://xml.org/sax/features/external-parameter-entities",
+        "http://apache.org/xml/features/nonvalidating/load-external-dtd"
+    );
+
+    /**
+     * Rule sets are compiled and invoices are parsed with this processor, so a
+     * parsed invoice can be handed to every rule set without being rebuilt.
+     */
+    private final Processor processor;
+
+    private final Map<SchematronRuleSet, LoadedRuleSet> loadedRuleSets;
+
+    /**
+     * Runs the line item chunks of split passes, if enabled.
+     */
+    private final @Nullable ForkJoinPool lineItemPool;
+
+    public SchematronRuleSetRegistry(
+        IApplicationConfig config,
+        IValidationMetrics metrics,
+        IRuleProfiler ruleProfiler
+    ) {
+        this.processor = createProcessor();
+
+        var profiler = ruleProfiler.isEnabled() ? ruleProfiler : null;
+
+        if (profiler != null) {
+            logger.warn(
+                "RuleSet: profiling is enabled, compiling with tracing"
+            );
+        }
+
+        var parallelLineItems = config.validation().parallelLineItems();
+        ForkJoinPool lineItemPool = null;
+        LineItemPasses.Partitioning partitioning = null;
+
+        if (parallelLineItems.enabled() && profiler != null) {
+            // a split pass would be recorded by one trace listener per chunk
+            logger.warn(
+                "RuleSet: profiling is enabled, not splitting passes by line items"
+            );
+        } else if (parallelLineItems.enabled()) {
+            lineItemPool =
+                new ForkJoinPool(Math.max(1, parallelLineItems.parallelism()));
+            partitioning =
+                new LineItemPasses.Partitioning(
+                    lineItemPool,
+                    parallelLineItems.minLineItems(),
+                    parallelLineItems.chunkSize()
+                );
+        }
+
+        this.lineItemPool = lineItemPool;
+
+        var ruleSets = new EnumMap<SchematronRuleSet, LoadedRuleSet>(
+            SchematronRuleSet.class
+        );
+
+        for (SchematronRuleSet ruleSet : SchematronRuleSet.values()) {
+            var loadedRuleSet = LoadedRuleSet.load(
+                ruleSet,
+                processor,
+                config.validation().transformerPoolSize(),
+                metrics,
+                profiler,
+                partitioning
+            );
+
+            logger.infof(
+                "RuleSet: %s %s %s loaded (%d bytes allocated while compiling)",
+                ruleSet.family(),
+                ruleSet.version(),
+                ruleSet.syntax(),
+                loadedRuleSet.getCompileAllocatedBytes()
+            );
+
+            ruleSets.put(ruleSet, loadedRuleSet);
+        }
+
+        this.loadedRuleSets = Collections.unmodifiableMap(ruleSets);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        var lineItemPool = this.lineItemPool;
+
+        if (lineItemPool != null) {
+            lineItemPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public @NonNull LoadedRuleSet get(@NonNull SchematronRuleSet ruleSet) {
+        var loadedRuleSet = loadedRuleSets.get(ruleSet);
+
+        if (loadedRuleSet == null) {
+            throw new IllegalStateException(
+                "Rule set " + ruleSet.name() + " was not loaded"
+            );
+        }
+
+        return loadedRuleSet;
+    }
+
+    @Override
+    public @NonNull DocumentBuilder newDocumentBuilder() {
+        return processor.newDocumentBuilder();
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull LoadedRuleSet> getLoadedRuleSets() {
+        return loadedRuleSets.values();
+    }
+
+    private static @NonNull Processor createProcessor() {
+        var processor = new Processor(false);
+        var configuration = processor.getUnderlyingConfiguration();
+
+        for (String feature : DISABLED_PARSER_FEATURES) {
+            configuration.setConfigurationProperty(
+                FeatureKeys.XML_PARSER_FEATURE +
+                URLEncoder.encode(feature, StandardCharsets.UTF_8),
+                false
+            );
+        }
+
+        processor.registerExtensionFunction(new CodeDbContainsFunction());
+
+        return processor;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.easybill.Services.RuleSets;
+
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import net.sf.saxon.s9api.NullDestination;
+import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XsltTransformer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps the transformers of a rule set for reuse, so a pass does not set up a
+ * new controller with its bindery, rule search state and output pipeline. At
+ * most {@code size} transformers are handed out at a time and further passes
+ * wait for one to be released. A size below one disables pooling.
+ */
+final class TransformerPool {
+
+    private final SchematronRuleSet ruleSet;
+
+    private final XsltExecutable executable;
+
+    private final IValidationMetrics metrics;
+
+    private final @Nullable Semaphore permits;
+
+    private final Queue<@NonNull XsltTransformer> idle =
+        new ConcurrentLinkedQueue<>();
+
+    TransformerPool(
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull XsltExecutable executable,
+        int size,
+        @NonNull IValidationMetrics metrics
+    ) {
+        this.ruleSet = ruleSet;
+        this.executable = executable;
+        this.metrics = metrics;
+        this.permits = size > 0 ? new Semaphore(size) : null;
+    }
+
+    @NonNull
+    XsltTransformer borrow() throws InterruptedException {
+        var permits = this.permits;
+
+        if (permits == null) {
+            return executable.load();
+        }
+
+        long startedAt = System.nanoTime();
+
+        permits.acquire();
+        metrics.recordTransformerWait(ruleSet, System.nanoTime() - startedAt);
+
+        var transformer = idle.poll();
+
+        return transformer != null ? transformer : executable.load();
+    }
+
+    /**
+     * Hands a borrowed transformer back. One whose pass failed or was aborted
+     * is dropped rather than reused, as its controller may be left in an
+     * inconsistent state.
+     */
+    void release(@NonNull XsltTransformer transformer, boolean reusable) {
+        var permits = this.permits;
+
+        if (permits == null) {
+            return;
+        }
+
+        if (reusable) {
+            reset(transformer);
+            idle.offer(transformer);
+        }
+
+        permits.release();
+    }
+
+    /**
+     * Drops the references to the last pass, so idle transformers do not keep
+     * its document, its collector along with the report and its trace
+     * listener reachable. Saxon accepts null to clear the initial context node
+     * and the trace listener, which its signatures do not declare.
+     */
+    @SuppressWarnings("nullness")
+    private static void reset(@NonNull XsltTransformer transformer) {
+        transformer.setInitialContextNode(null);
+        transformer.setDestination(new NullDestination());
+        transformer.setTraceListener(null);
+    }
+}
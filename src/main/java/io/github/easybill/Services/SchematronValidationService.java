@@ -1,225 +1,248 @@
 package io.github.easybill.Services;
 
+import io.github.easybill.Contracts.IAdmissionController;
+import io.github.easybill.Contracts.IEncodingResolver;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
 import io.github.easybill.Contracts.ISchematronValidationService;
-import io.github.easybill.Contracts.ISchematronValidator;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Contracts.IValidationResultCache;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Contracts.IXmlSniffer;
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ResolvedEncoding;
 import io.github.easybill.Dtos.ValidationRequest;
 import io.github.easybill.Dtos.ValidationResult;
-import io.github.easybill.Enums.XMLSyntaxType;
-import io.github.easybill.Enums.XmlProfileType;
+import io.github.easybill.Dtos.XmlSniffResult;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Enums.ValidationStage;
 import io.github.easybill.Exceptions.InvalidProfileException;
 import io.github.easybill.Exceptions.InvalidXmlException;
+import io.github.easybill.Exceptions.ParsingException;
 import io.github.easybill.Exceptions.ValidationChainException;
-import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Singleton;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringReader;
-import java.nio.charset.Charset;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.*;
+import java.util.function.Supplier;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmNode;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.mozilla.universalchardet.UniversalDetector;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 @Singleton
 public final class SchematronValidationService
     implements ISchematronValidationService {
 
-    private final Instance<ISchematronValidator> schematronValidators;
+    private final IValidatorRouter validatorRouter;
+
+    private final ISchematronRuleSetRegistry ruleSetRegistry;
+
+    private final IXmlSniffer xmlSniffer;
+
+    private final IEncodingResolver encodingResolver;
+
+    private final IValidationResultCache resultCache;
+
+    private final IValidationMetrics metrics;
+
+    private final IAdmissionController admissionController;
 
     public SchematronValidationService(
-        Instance<ISchematronValidator> schematronValidators
+        IValidatorRouter validatorRouter,
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IXmlSniffer xmlSniffer,
+        IEncodingResolver encodingResolver,
+        IValidationResultCache resultCache,
+        IValidationMetrics metrics,
+        IAdmissionController admissionController
     ) {
-        this.schematronValidators = schematronValidators;
+        this.validatorRouter = validatorRouter;
+        this.ruleSetRegistry = ruleSetRegistry;
+        this.xmlSniffer = xmlSniffer;
+        this.encodingResolver = encodingResolver;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.admissionController = admissionController;
     }
 
     @Override
     public @NonNull ValidationResult validateXml(
-        @NonNull InputStream inputStream
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
     ) throws Exception {
-        var validationRequest = createValidationRequestFromInputStream(
-            inputStream
+        return validateXml(
+            payload,
+            validationMode,
+            () -> admissionController.admit(payload.length())
         );
+    }
 
-        for (ISchematronValidator validator : this.schematronValidators) {
-            if (!validator.supports(validationRequest)) {
-                continue;
-            }
-
-            return validator
-                .validate(validationRequest)
-                .orElseThrow(ValidationChainException::new);
-        }
-
-        throw new Exception(
-            "Schematron validation failed. No validator found."
+    @Override
+    public @NonNull ValidationResult validateXmlWhenAdmitted(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) throws Exception {
+        return validateXml(
+            payload,
+            validationMode,
+            () -> admissionController.await(payload.length())
         );
     }
 
-    private ValidationRequest createValidationRequestFromInputStream(
-        @NonNull InputStream inputStream
-    )
-        throws IOException, ParserConfigurationException, SAXException, XPathExpressionException {
-        var bytesFromSteam = inputStream.readAllBytes();
-
-        var charset = determineCharsetForXmlPayload(bytesFromSteam);
-
-        var xml = new String(bytesFromSteam, charset);
-
-        if (isXmlInvalid(xml)) {
-            throw new InvalidXmlException();
-        }
-
-        xml = removeBOM(xml);
-        xml = removeInvalidCharsFromProlog(xml);
-
-        var xmlSyntaxType = determineXmlSyntax(xml)
-            .orElseThrow(InvalidXmlException::new);
-
-        var xmlProfileType = determineProfileTypeForXML(xmlSyntaxType, xml)
-            .orElseThrow(InvalidProfileException::new);
-
-        return new ValidationRequest(
-            xmlSyntaxType,
-            xmlProfileType,
-            charset,
-            xml
+    private @NonNull ValidationResult validateXml(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode,
+        @NonNull Supplier<IAdmissionController.@NonNull Permit> admission
+    ) throws Exception {
+        return resultCache.computeIfAbsent(
+            payload,
+            validationMode,
+            () -> {
+                try (var permit = admission.get()) {
+                    return validatePayload(payload, validationMode);
+                }
+            }
         );
     }
 
-    @Override
-    public boolean isLoadedSchematronValid() {
-        return true;
-    }
+    private @NonNull ValidationResult validatePayload(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) throws Exception {
+        var validationRequest = createValidationRequest(
+            payload,
+            validationMode
+        );
 
-    private boolean isXmlInvalid(@NonNull String xml) {
-        return xml.isBlank() || (!checkIfUblXml(xml) && !checkIfCiiXml(xml));
+        var validator = validatorRouter
+            .route(
+                validationRequest.xmlProfileType(),
+                validationRequest.xmlSyntaxType()
+            )
+            .orElseThrow(() ->
+                new Exception(
+                    "Schematron validation failed. No validator found."
+                )
+            );
+
+        return validator
+            .validate(validationRequest)
+            .orElseThrow(ValidationChainException::new);
     }
 
-    private Optional<XmlProfileType> determineProfileTypeForXML(
-        @NonNull XMLSyntaxType xmlSyntaxType,
-        @NonNull String xml
-    )
-        throws ParserConfigurationException, IOException, SAXException, XPathExpressionException {
-        DocumentBuilderFactory builderFactory =
-            DocumentBuilderFactory.newInstance();
-
-        builderFactory.setNamespaceAware(true);
-        builderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-
-        DocumentBuilder db = builderFactory.newDocumentBuilder();
-
-        Document doc = db.parse(new InputSource(new StringReader(xml)));
-
-        XPathFactory xpathFactory = XPathFactory.newInstance();
-        XPath xpath = xpathFactory.newXPath();
+    private ValidationRequest createValidationRequest(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) throws IOException {
+        long startedAt = System.nanoTime();
 
-        XPathExpression xpathExpression =
-            switch (xmlSyntaxType) {
-                case CII -> xpath.compile(
-                    "//*[local-name()='ExchangedDocumentContext']/*[local-name()='GuidelineSpecifiedDocumentContextParameter']/*[local-name()='ID']"
-                );
-                case UBL -> xpath.compile(
-                    "//*[local-name()='CustomizationID']"
-                );
-            };
+        var encoding = payload.resolveEncoding(encodingResolver);
 
-        Node node = (Node) xpathExpression.evaluate(doc, XPathConstants.NODE);
+        var charset = encoding.charset();
 
-        if (node == null) {
-            return Optional.empty();
+        if (isBlank(payload, encoding)) {
+            throw new InvalidXmlException();
         }
 
-        var nodeContent = Optional.ofNullable(node.getTextContent());
+        long decodedAt = System.nanoTime();
 
-        if (nodeContent.isEmpty()) {
-            return Optional.empty();
-        }
+        XmlSniffResult sniffResult;
 
-        return XmlProfileType.tryFromString(nodeContent.get());
-    }
-
-    private Charset determineCharsetForXmlPayload(byte[] bytes)
-        throws InvalidXmlException {
-        UniversalDetector detector = new UniversalDetector();
+        try (var reader = newReader(payload, encoding)) {
+            sniffResult = xmlSniffer.sniff(reader);
+        }
 
-        detector.handleData(bytes, 0, bytes.length);
-        detector.dataEnd();
+        var xmlProfileType = Optional
+            .ofNullable(sniffResult.xmlProfileType())
+            .orElseThrow(InvalidProfileException::new);
 
-        String encoding = detector.getDetectedCharset();
+        long sniffedAt = System.nanoTime();
 
-        detector.reset();
+        XdmNode document;
 
-        if (encoding != null) {
-            return Charset.forName(encoding);
+        try (var reader = newReader(payload, encoding)) {
+            document = parseXml(reader);
         }
 
-        throw new InvalidXmlException();
-    }
+        long parsedAt = System.nanoTime();
 
-    private Optional<XMLSyntaxType> determineXmlSyntax(@NonNull String xml) {
-        if (checkIfCiiXml(xml)) {
-            return Optional.of(XMLSyntaxType.CII);
-        }
-
-        if (checkIfUblXml(xml)) {
-            return Optional.of(XMLSyntaxType.UBL);
-        }
+        var xmlSyntaxType = sniffResult.xmlSyntaxType();
 
-        return Optional.empty();
-    }
-
-    private boolean checkIfCiiXml(@NonNull CharSequence payload) {
-        return Pattern
-            .compile("[<:](CrossIndustryInvoice)")
-            .matcher(payload)
-            .find();
-    }
+        metrics.recordPayloadSize(
+            xmlSyntaxType,
+            xmlProfileType,
+            payload.length()
+        );
+        metrics.recordStage(
+            ValidationStage.CHARSET_DETECTION,
+            xmlSyntaxType,
+            xmlProfileType,
+            decodedAt - startedAt
+        );
+        metrics.recordStage(
+            ValidationStage.SYNTAX_PROFILE_DETECTION,
+            xmlSyntaxType,
+            xmlProfileType,
+            sniffedAt - decodedAt
+        );
+        metrics.recordStage(
+            ValidationStage.PARSING,
+            xmlSyntaxType,
+            xmlProfileType,
+            parsedAt - sniffedAt
+        );
 
-    private boolean checkIfUblXml(@NonNull CharSequence payload) {
-        return Pattern
-            .compile("[<:](Invoice|CreditNote)")
-            .matcher(payload)
-            .find();
+        return new ValidationRequest(
+            xmlSyntaxType,
+            xmlProfileType,
+            charset,
+            document,
+            validationMode
+        );
     }
 
-    private @NonNull String removeBOM(@NonNull String payload) {
-        String UTF8_BOM = "\uFEFF";
-        String UTF16LE_BOM = "\uFFFE";
-        String UTF16BE_BOM = "\uFEFF";
-
-        if (payload.isEmpty()) {
-            return payload;
+    /**
+     * Parses the payload once into an immutable tree. The tree is shared by
+     * every schematron pass of the request.
+     */
+    private @NonNull XdmNode parseXml(@NonNull Reader reader) {
+        try {
+            return ruleSetRegistry
+                .newDocumentBuilder()
+                .build(new StreamSource(reader));
+        } catch (SaxonApiException exception) {
+            throw new ParsingException(exception);
         }
-
-        if (
-            payload.startsWith(UTF8_BOM) ||
-            payload.startsWith(UTF16LE_BOM) ||
-            payload.startsWith(UTF16BE_BOM)
-        ) {
-            return payload.substring(1);
-        }
-
-        return payload;
     }
 
-    private @NonNull String removeInvalidCharsFromProlog(
-        @NonNull String payload
+    /**
+     * Decodes the payload while it is read, starting behind a byte order mark
+     * or any garbage in front of the XML declaration. The payload is never
+     * copied into an intermediate string.
+     */
+    private static @NonNull Reader newReader(
+        @NonNull Payload payload,
+        @NonNull ResolvedEncoding encoding
     ) {
-        var indexOfXmlIntro = payload.indexOf("<?xml version");
+        return new InputStreamReader(
+            payload.newInputStream(encoding.offset()),
+            encoding.charset()
+        );
+    }
 
-        if (indexOfXmlIntro == 0) {
-            return payload;
+    private static boolean isBlank(
+        @NonNull Payload payload,
+        @NonNull ResolvedEncoding encoding
+    ) throws IOException {
+        try (var reader = newReader(payload, encoding)) {
+            for (int c = reader.read(); c != -1; c = reader.read()) {
+                if (!Character.isWhitespace(c)) {
+                    return false;
+                }
+            }
         }
 
-        return payload.substring(indexOfXmlIntro);
+        return true;
     }
 }
@@ -0,0 +1,136 @@
+package io.github.easybill.Services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IValidationResultCache;
+import io.github.easybill.Dtos.Payload;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Enums.ValidationMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.runtime.Startup;
+import jakarta.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches validation results by the SHA-256 digest of the raw payload and the
+ * validation mode. The digest is seeded with the version and artifact digest
+ * of every loaded rule set, so a changed rule set never serves a result
+ * computed by its predecessor. Created at boot, so the cache metrics are
+ * exposed before the first request.
+ */
+@Startup
+@Singleton
+public final class ValidationResultCache implements IValidationResultCache {
+
+    private final @Nullable Cache<String, ValidationResult> cache;
+
+    private final byte[] ruleSetFingerprint;
+
+    public ValidationResultCache(
+        IApplicationConfig config,
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        MeterRegistry meterRegistry
+    ) {
+        var cacheConfig = config.validation().cache();
+
+        this.ruleSetFingerprint = createRuleSetFingerprint(ruleSetRegistry);
+
+        if (!cacheConfig.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        Cache<String, ValidationResult> cache = Caffeine
+            .newBuilder()
+            .maximumSize(cacheConfig.maxEntries())
+            .expireAfterWrite(cacheConfig.ttl())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(
+            meterRegistry,
+            cache,
+            "validation-results"
+        );
+
+        this.cache = cache;
+    }
+
+    @Override
+    public @NonNull ValidationResult computeIfAbsent(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode,
+        @NonNull Callable<@NonNull ValidationResult> validation
+    ) throws Exception {
+        if (cache == null) {
+            return validation.call();
+        }
+
+        var key = createKey(payload, validationMode);
+        var cachedResult = cache.getIfPresent(key);
+
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        var result = validation.call();
+
+        cache.put(key, result);
+
+        return result;
+    }
+
+    private @NonNull String createKey(
+        @NonNull Payload payload,
+        @NonNull ValidationMode validationMode
+    ) {
+        var digest = newSha256();
+
+        digest.update(ruleSetFingerprint);
+        digest.update(validationMode.name().getBytes(StandardCharsets.UTF_8));
+
+        payload.digest(digest);
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte @NonNull [] createRuleSetFingerprint(
+        @NonNull ISchematronRuleSetRegistry ruleSetRegistry
+    ) {
+        var digest = newSha256();
+
+        for (var loadedRuleSet : ruleSetRegistry.getLoadedRuleSets()) {
+            var ruleSet = loadedRuleSet.getRuleSet();
+
+            digest.update(
+                String
+                    .join(
+                        "|",
+                        ruleSet.name(),
+                        ruleSet.version(),
+                        loadedRuleSet.getArtifactDigest()
+                    )
+                    .getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+        return digest.digest();
+    }
+
+    private static @NonNull MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
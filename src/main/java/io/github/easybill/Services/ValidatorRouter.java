@@ -0,0 +1,178 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.ISchematronValidator;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.quarkus.runtime.Startup;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jboss.logging.Logger;
+
+/**
+ * Resolves every (profile, syntax) combination to its validator once at boot.
+ * A combination claimed by several validators, or a defined combination that
+ * no validator claims, prevents the application from starting.
+ */
+@Startup
+@Singleton
+public final class ValidatorRouter implements IValidatorRouter {
+
+    private static final Logger logger = Logger.getLogger(
+        ValidatorRouter.class
+    );
+
+    private final Map<
+        XmlProfileType,
+        Map<XMLSyntaxType, ISchematronValidator>
+    > routes;
+
+    private final List<@NonNull ValidatorRoute> routeDescriptions;
+
+    private final List<@NonNull ISchematronValidator> validators;
+
+    public ValidatorRouter(
+        Instance<ISchematronValidator> schematronValidators
+    ) {
+        var table = new EnumMap<
+            XmlProfileType,
+            Map<XMLSyntaxType, ISchematronValidator>
+        >(XmlProfileType.class);
+        var descriptions = new ArrayList<@NonNull ValidatorRoute>();
+        var routedValidators = new ArrayList<@NonNull ISchematronValidator>();
+
+        for (XmlProfileType xmlProfileType : XmlProfileType.values()) {
+            var syntaxRoutes = new EnumMap<
+                XMLSyntaxType,
+                ISchematronValidator
+            >(XMLSyntaxType.class);
+
+            for (XMLSyntaxType xmlSyntaxType : XMLSyntaxType.values()) {
+                var validator = resolve(
+                    schematronValidators,
+                    xmlProfileType,
+                    xmlSyntaxType
+                );
+
+                if (validator == null) {
+                    continue;
+                }
+
+                var validatorName = validator.getClass().getSimpleName();
+
+                logger.infof(
+                    "Route: %s %s -> %s",
+                    xmlProfileType.name(),
+                    xmlSyntaxType.name(),
+                    validatorName
+                );
+
+                syntaxRoutes.put(xmlSyntaxType, validator);
+
+                if (!routedValidators.contains(validator)) {
+                    routedValidators.add(validator);
+                }
+
+                descriptions.add(
+                    new ValidatorRoute(
+                        xmlProfileType,
+                        xmlSyntaxType,
+                        validatorName
+                    )
+                );
+            }
+
+            table.put(xmlProfileType, syntaxRoutes);
+        }
+
+        this.routes = table;
+        this.routeDescriptions = List.copyOf(descriptions);
+        this.validators = List.copyOf(routedValidators);
+    }
+
+    @Override
+    public @NonNull Optional<ISchematronValidator> route(
+        @NonNull XmlProfileType xmlProfileType,
+        @NonNull XMLSyntaxType xmlSyntaxType
+    ) {
+        var syntaxRoutes = routes.get(xmlProfileType);
+
+        if (syntaxRoutes == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(syntaxRoutes.get(xmlSyntaxType));
+    }
+
+    @Override
+    public @NonNull List<@NonNull ValidatorRoute> getRoutes() {
+        return List.copyOf(routeDescriptions);
+    }
+
+    @Override
+    public @NonNull List<@NonNull ISchematronValidator> getValidators() {
+        return List.copyOf(validators);
+    }
+
+    private static @Nullable ISchematronValidator resolve(
+        Instance<ISchematronValidator> schematronValidators,
+        XmlProfileType xmlProfileType,
+        XMLSyntaxType xmlSyntaxType
+    ) {
+        ISchematronValidator match = null;
+
+        for (ISchematronValidator validator : schematronValidators) {
+            if (!validator.supports(xmlProfileType, xmlSyntaxType)) {
+                continue;
+            }
+
+            if (match != null) {
+                throw new IllegalStateException(
+                    "Ambiguous route for " +
+                    xmlProfileType.name() +
+                    " " +
+                    xmlSyntaxType.name() +
+                    ": " +
+                    match.getClass().getSimpleName() +
+                    " and " +
+                    validator.getClass().getSimpleName()
+                );
+            }
+
+            match = validator;
+        }
+
+        boolean defined = xmlProfileType.isDefinedFor(xmlSyntaxType);
+
+        if (match == null && defined) {
+            throw new IllegalStateException(
+                "Missing route for " +
+                xmlProfileType.name() +
+                " " +
+                xmlSyntaxType.name()
+            );
+        }
+
+        if (match != null && !defined) {
+            throw new IllegalStateException(
+                "Route for " +
+                xmlProfileType.name() +
+                " " +
+                xmlSyntaxType.name() +
+                " is claimed by " +
+                match.getClass().getSimpleName() +
+                ", but the profile is not defined for that syntax"
+            );
+        }
+
+        return match;
+    }
+}
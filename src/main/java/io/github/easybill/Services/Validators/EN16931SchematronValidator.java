@@ -1,98 +1,62 @@
 package io.github.easybill.Services.Validators;
 
-import com.helger.commons.io.ByteArrayWrapper;
-import com.helger.commons.io.resource.ClassPathResource;
-import com.helger.schematron.sch.SchematronResourceSCH;
+import io.github.easybill.Contracts.IRuleSetExecutor;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
 import io.github.easybill.Contracts.ISchematronValidator;
 import io.github.easybill.Dtos.ValidationRequest;
 import io.github.easybill.Dtos.ValidationResult;
 import io.github.easybill.Dtos.ValidatorResults.EN16931ValidatorResult;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
-import io.github.easybill.Exceptions.ParsingException;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
 import jakarta.inject.Singleton;
 import java.util.Optional;
 
 @Singleton
 public final class EN16931SchematronValidator implements ISchematronValidator {
 
-    private final SchematronResourceSCH ciiSchematron;
-    private final SchematronResourceSCH ublSchematron;
+    private final IRuleSetExecutor ruleSetExecutor;
 
-    public EN16931SchematronValidator() {
-        ciiSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/EN16931/EN16931_1.3.13_CII.sch")
-            );
+    private final LoadedRuleSet ciiSchematron;
+    private final LoadedRuleSet ublSchematron;
 
-        ublSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/EN16931/EN16931_1.3.13_UBL.sch")
-            );
-
-        if (!ciiSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for EN16931 CII failed"
-            );
-        }
-
-        if (!ublSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for EN16931 UBL failed"
-            );
-        }
+    public EN16931SchematronValidator(
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IRuleSetExecutor ruleSetExecutor
+    ) {
+        this.ruleSetExecutor = ruleSetExecutor;
+        ciiSchematron = ruleSetRegistry.get(SchematronRuleSet.EN16931_CII);
+        ublSchematron = ruleSetRegistry.get(SchematronRuleSet.EN16931_UBL);
     }
 
     @Override
-    public boolean validateSchematron() {
-        if (!ciiSchematron.isValidSchematron()) {
-            return false;
-        }
-
-        if (!ublSchematron.isValidSchematron()) {
-            return false;
-        }
-
-        return true;
-    }
-
-    @Override
-    public boolean supports(ValidationRequest validationRequest) {
-        return validationRequest.xmlProfileType() == XmlProfileType.EN16931;
+    public boolean supports(
+        XmlProfileType xmlProfileType,
+        XMLSyntaxType xmlSyntaxType
+    ) {
+        return xmlProfileType == XmlProfileType.EN16931;
     }
 
     @Override
     public Optional<ValidationResult> validate(
         ValidationRequest validationRequest
     ) throws Exception {
-        var bytesWrapper = new ByteArrayWrapper(
-            validationRequest.xml().getBytes(validationRequest.xmlCharset()),
-            false
-        );
-
-        try {
-            var report =
-                switch (validationRequest.xmlSyntaxType()) {
-                    case CII -> Optional.ofNullable(
-                        ciiSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                    case UBL -> Optional.ofNullable(
-                        ublSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                };
-
-            return report.map(schematronOutputType ->
+        var schematron =
+            switch (validationRequest.xmlSyntaxType()) {
+                case CII -> ciiSchematron;
+                case UBL -> ublSchematron;
+            };
+
+        return ruleSetExecutor.apply(
+            validationRequest,
+            reports ->
                 ValidationResult.of(
                     XmlProfileType.EN16931,
                     validationRequest,
-                    EN16931ValidatorResult.of(schematronOutputType)
-                )
-            );
-        } catch (IllegalArgumentException exception) {
-            throw new ParsingException(exception);
-        }
+                    EN16931ValidatorResult.of(reports.get(0))
+                ),
+            schematron
+        );
     }
 }
@@ -1,59 +1,44 @@
 package io.github.easybill.Services.Validators;
 
-import com.helger.commons.io.ByteArrayWrapper;
-import com.helger.commons.io.resource.ClassPathResource;
-import com.helger.schematron.sch.SchematronResourceSCH;
+import io.github.easybill.Contracts.IRuleSetExecutor;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
 import io.github.easybill.Contracts.ISchematronValidator;
 import io.github.easybill.Dtos.ValidationRequest;
 import io.github.easybill.Dtos.ValidationResult;
 import io.github.easybill.Dtos.ValidatorResults.EN16931ValidatorResult;
 import io.github.easybill.Dtos.ValidatorResults.PeppolValidatorResult;
+import io.github.easybill.Enums.SchematronRuleSet;
 import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
-import io.github.easybill.Exceptions.ParsingException;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
 import jakarta.inject.Singleton;
 import java.util.Optional;
 
 @Singleton
 public final class PeppolSchematronValidator implements ISchematronValidator {
 
-    private final SchematronResourceSCH en16931Schematron;
-    private final SchematronResourceSCH peppolBisSchematron;
+    private final IRuleSetExecutor ruleSetExecutor;
 
-    public PeppolSchematronValidator() {
-        en16931Schematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/EN16931/EN16931_1.3.13_UBL.sch")
-            );
+    private final LoadedRuleSet en16931Schematron;
+    private final LoadedRuleSet peppolBisSchematron;
 
-        peppolBisSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/Peppol/PEPPOL_BIS_BILLING_3.0.sch")
-            );
-
-        if (!en16931Schematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for EN16931 UBL failed"
-            );
-        }
-
-        if (!peppolBisSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for Peppol UBL failed"
-            );
-        }
-    }
-
-    @Override
-    public boolean validateSchematron() {
-        return peppolBisSchematron.isValidSchematron();
+    public PeppolSchematronValidator(
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IRuleSetExecutor ruleSetExecutor
+    ) {
+        this.ruleSetExecutor = ruleSetExecutor;
+        en16931Schematron = ruleSetRegistry.get(SchematronRuleSet.EN16931_UBL);
+        peppolBisSchematron = ruleSetRegistry.get(SchematronRuleSet.PEPPOL_UBL);
     }
 
     @Override
-    public boolean supports(ValidationRequest validationRequest) {
+    public boolean supports(
+        XmlProfileType xmlProfileType,
+        XMLSyntaxType xmlSyntaxType
+    ) {
         return (
-            validationRequest.xmlProfileType() == XmlProfileType.PEPPOL_30 &&
-            validationRequest.xmlSyntaxType() == XMLSyntaxType.UBL
+            xmlProfileType == XmlProfileType.PEPPOL_30 &&
+            xmlSyntaxType == XMLSyntaxType.UBL
         );
     }
 
@@ -61,37 +46,17 @@ public final class PeppolSchematronValidator implements ISchematronValidator {
     public Optional<ValidationResult> validate(
         ValidationRequest validationRequest
     ) throws Exception {
-        try {
-            byte[] bytes = validationRequest
-                .xml()
-                .getBytes(validationRequest.xmlCharset());
-
-            var en16931Report = Optional.ofNullable(
-                en16931Schematron.applySchematronValidationToSVRL(
-                    new ByteArrayWrapper(bytes, false)
-                )
-            );
-
-            if (en16931Report.isEmpty()) {
-                return Optional.empty();
-            }
-
-            var peppolReport = Optional.ofNullable(
-                peppolBisSchematron.applySchematronValidationToSVRL(
-                    new ByteArrayWrapper(bytes, false)
-                )
-            );
-
-            return peppolReport.map(schematronOutputType ->
+        return ruleSetExecutor.apply(
+            validationRequest,
+            reports ->
                 ValidationResult.of(
                     XmlProfileType.PEPPOL_30,
                     validationRequest,
-                    EN16931ValidatorResult.of(en16931Report.get()),
-                    PeppolValidatorResult.of(schematronOutputType)
-                )
-            );
-        } catch (IllegalArgumentException exception) {
-            throw new ParsingException(exception);
-        }
+                    EN16931ValidatorResult.of(reports.get(0)),
+                    PeppolValidatorResult.of(reports.get(1))
+                ),
+            en16931Schematron,
+            peppolBisSchematron
+        );
     }
 }
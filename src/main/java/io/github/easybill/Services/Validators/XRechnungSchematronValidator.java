@@ -1,15 +1,16 @@
 package io.github.easybill.Services.Validators;
 
-import com.helger.commons.io.ByteArrayWrapper;
-import com.helger.commons.io.resource.ClassPathResource;
-import com.helger.schematron.sch.SchematronResourceSCH;
+import io.github.easybill.Contracts.IRuleSetExecutor;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
 import io.github.easybill.Contracts.ISchematronValidator;
 import io.github.easybill.Dtos.ValidationRequest;
 import io.github.easybill.Dtos.ValidationResult;
 import io.github.easybill.Dtos.ValidatorResults.EN16931ValidatorResult;
 import io.github.easybill.Dtos.ValidatorResults.XRechnungValidatorResult;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
-import io.github.easybill.Exceptions.ParsingException;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
 import jakarta.inject.Singleton;
 import java.util.Optional;
 
@@ -17,129 +18,63 @@ import java.util.Optional;
 public final class XRechnungSchematronValidator
     implements ISchematronValidator {
 
-    private final SchematronResourceSCH en16931CiiSchematron;
-    private final SchematronResourceSCH en16931UblSchematron;
-    private final SchematronResourceSCH xRechnungCiiSchematron;
-    private final SchematronResourceSCH xRechnungUblSchematron;
+    private final IRuleSetExecutor ruleSetExecutor;
 
-    public XRechnungSchematronValidator() {
-        en16931CiiSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/EN16931/EN16931_1.3.13_CII.sch")
-            );
+    private final LoadedRuleSet en16931CiiSchematron;
+    private final LoadedRuleSet en16931UblSchematron;
+    private final LoadedRuleSet xRechnungCiiSchematron;
+    private final LoadedRuleSet xRechnungUblSchematron;
 
+    public XRechnungSchematronValidator(
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IRuleSetExecutor ruleSetExecutor
+    ) {
+        this.ruleSetExecutor = ruleSetExecutor;
+        en16931CiiSchematron =
+            ruleSetRegistry.get(SchematronRuleSet.EN16931_CII);
         en16931UblSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/EN16931/EN16931_1.3.13_UBL.sch")
-            );
-
+            ruleSetRegistry.get(SchematronRuleSet.EN16931_UBL);
         xRechnungCiiSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/XRechnung/XRechnung_3.2_CII.sch")
-            );
-
+            ruleSetRegistry.get(SchematronRuleSet.XRECHNUNG_CII);
         xRechnungUblSchematron =
-            new SchematronResourceSCH(
-                new ClassPathResource("/XRechnung/XRechnung_3.2_UBL.sch")
-            );
-
-        if (!en16931CiiSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for EN16931 CII failed"
-            );
-        }
-
-        if (!en16931UblSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for EN16931 UBL failed"
-            );
-        }
-
-        if (!xRechnungCiiSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for XRechnung CII failed"
-            );
-        }
-
-        if (!xRechnungUblSchematron.isValidSchematron()) {
-            throw new RuntimeException(
-                "Schematron validation for XRechnung UBL failed"
-            );
-        }
-    }
-
-    @Override
-    public boolean validateSchematron() {
-        if (!xRechnungCiiSchematron.isValidSchematron()) {
-            return false;
-        }
-
-        if (!xRechnungUblSchematron.isValidSchematron()) {
-            return false;
-        }
-
-        return true;
+            ruleSetRegistry.get(SchematronRuleSet.XRECHNUNG_UBL);
     }
 
     @Override
-    public boolean supports(ValidationRequest validationRequest) {
-        return (
-            validationRequest.xmlProfileType() == XmlProfileType.XRECHNUNG_30
-        );
+    public boolean supports(
+        XmlProfileType xmlProfileType,
+        XMLSyntaxType xmlSyntaxType
+    ) {
+        return xmlProfileType == XmlProfileType.XRECHNUNG_30;
     }
 
     @Override
     public Optional<ValidationResult> validate(
         ValidationRequest validationRequest
     ) throws Exception {
-        var bytesWrapper = new ByteArrayWrapper(
-            validationRequest.xml().getBytes(validationRequest.xmlCharset()),
-            false
-        );
-
-        try {
-            var en16931Report =
-                switch (validationRequest.xmlSyntaxType()) {
-                    case CII -> Optional.ofNullable(
-                        en16931CiiSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                    case UBL -> Optional.ofNullable(
-                        en16931UblSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                };
-
-            if (en16931Report.isEmpty()) {
-                return Optional.empty();
-            }
-
-            var xRechnungReport =
-                switch (validationRequest.xmlSyntaxType()) {
-                    case CII -> Optional.ofNullable(
-                        xRechnungCiiSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                    case UBL -> Optional.ofNullable(
-                        xRechnungUblSchematron.applySchematronValidationToSVRL(
-                            bytesWrapper
-                        )
-                    );
-                };
-
-            return xRechnungReport.map(schematronOutputType ->
+        var en16931Schematron =
+            switch (validationRequest.xmlSyntaxType()) {
+                case CII -> en16931CiiSchematron;
+                case UBL -> en16931UblSchematron;
+            };
+
+        var xRechnungSchematron =
+            switch (validationRequest.xmlSyntaxType()) {
+                case CII -> xRechnungCiiSchematron;
+                case UBL -> xRechnungUblSchematron;
+            };
+
+        return ruleSetExecutor.apply(
+            validationRequest,
+            reports ->
                 ValidationResult.of(
                     XmlProfileType.XRECHNUNG_30,
                     validationRequest,
-                    EN16931ValidatorResult.of(en16931Report.get()),
-                    XRechnungValidatorResult.of(schematronOutputType)
-                )
-            );
-        } catch (IllegalArgumentException exception) {
-            throw new ParsingException(exception);
-        }
+                    EN16931ValidatorResult.of(reports.get(0)),
+                    XRechnungValidatorResult.of(reports.get(1))
+                ),
+            en16931Schematron,
+            xRechnungSchematron
+        );
     }
 }
@@ -0,0 +1,164 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Contracts.IWarmUpService;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Exceptions.ValidationChainException;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jboss.logging.Logger;
+
+/**
+ * Validates a bundled sample invoice for every route after startup, so the
+ * first requests do not pay for cold templates and an unoptimized JIT. The
+ * samples are validated directly by the routed validator, bypassing the
+ * result cache and the admission control. Whether the sample of a route could
+ * be validated is kept for the readiness check. The rule profile is reset
+ * once the warm-up has finished, so it only covers real requests.
+ */
+@Singleton
+public final class WarmUpService implements IWarmUpService {
+
+    private static final Logger logger = Logger.getLogger(
+        WarmUpService.class
+    );
+
+    private final IValidatorRouter validatorRouter;
+
+    private final ISchematronRuleSetRegistry ruleSetRegistry;
+
+    private final IRuleProfiler ruleProfiler;
+
+    private final int iterations;
+
+    private volatile boolean finished;
+
+    private volatile Map<ValidatorRoute, Boolean> routeResults = Map.of();
+
+    public WarmUpService(
+        IValidatorRouter validatorRouter,
+        ISchematronRuleSetRegistry ruleSetRegistry,
+        IRuleProfiler ruleProfiler,
+        IApplicationConfig config
+    ) {
+        this.validatorRouter = validatorRouter;
+        this.ruleSetRegistry = ruleSetRegistry;
+        this.ruleProfiler = ruleProfiler;
+        this.iterations =
+            Math.max(0, config.validation().warmUp().iterations());
+        this.finished = iterations == 0;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (finished) {
+            logger.info("WarmUp: disabled");
+            return;
+        }
+
+        Thread.ofPlatform().name("warm-up").daemon().start(this::warmUp);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public @NonNull Map<ValidatorRoute, Boolean> getRouteResults() {
+        return Map.copyOf(routeResults);
+    }
+
+    private void warmUp() {
+        long startedAt = System.nanoTime();
+        var results = new LinkedHashMap<ValidatorRoute, Boolean>();
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (var route : validatorRouter.getRoutes()) {
+                boolean validated;
+
+                try {
+                    warmUp(route);
+                    validated = true;
+                } catch (Exception exception) {
+                    validated = false;
+                    logger.warnf(
+                        exception,
+                        "WarmUp: %s %s could not be validated",
+                        route.xmlProfileType().name(),
+                        route.xmlSyntaxType().name()
+                    );
+                }
+
+                results.merge(route, validated, Boolean::logicalAnd);
+            }
+        }
+
+        ruleProfiler.reset();
+        routeResults = results;
+        finished = true;
+
+        logger.infof(
+            "WarmUp: %d iterations over %d routes finished in %d ms, %d failed",
+            iterations,
+            results.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+            results.values().stream().filter(validated -> !validated).count()
+        );
+    }
+
+    private void warmUp(@NonNull ValidatorRoute route) throws Exception {
+        var validator = validatorRouter
+            .route(route.xmlProfileType(), route.xmlSyntaxType())
+            .orElseThrow();
+
+        var sample = loadSample(route);
+        var document = ruleSetRegistry
+            .newDocumentBuilder()
+            .build(new StreamSource(new ByteArrayInputStream(sample)));
+
+        validator
+            .validate(
+                new ValidationRequest(
+                    route.xmlSyntaxType(),
+                    route.xmlProfileType(),
+                    StandardCharsets.UTF_8,
+                    document,
+                    ValidationMode.COMPLETE
+                )
+            )
+            .orElseThrow(ValidationChainException::new);
+    }
+
+    private static byte @NonNull [] loadSample(@NonNull ValidatorRoute route)
+        throws IOException {
+        var resourcePath = String.format(
+            "/WarmUp/%s_%s.xml",
+            route.xmlProfileType().name(),
+            route.xmlSyntaxType().name()
+        );
+
+        var resource = WarmUpService.class.getResource(resourcePath);
+
+        if (resource == null) {
+            throw new IOException(resourcePath + " is missing");
+        }
+
+        try (var inputStream = resource.openStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.easybill.Services;
+
+import io.github.easybill.Contracts.IXmlSniffer;
+import io.github.easybill.Dtos.XmlSniffResult;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.github.easybill.Exceptions.InvalidXmlException;
+import io.github.easybill.Exceptions.ParsingException;
+import jakarta.inject.Singleton;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Determines syntax and profile of an invoice by streaming over the document
+ * until the root element and the profile identifier have been read. For
+ * regular invoices this only touches the first few elements of the document.
+ */
+@Singleton
+public final class XmlSniffer implements IXmlSniffer {
+
+    private final XMLInputFactory inputFactory;
+
+    public XmlSniffer() {
+        inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(
+            XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+            false
+        );
+    }
+
+    @Override
+    public @NonNull XmlSniffResult sniff(@NonNull Reader reader) {
+        try {
+            var streamReader = inputFactory.createXMLStreamReader(reader);
+
+            try {
+                return sniff(streamReader);
+            } finally {
+                streamReader.close();
+            }
+        } catch (XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+    }
+
+    @Override
+    public @NonNull XMLSyntaxType sniffSyntax(@NonNull Reader reader) {
+        try {
+            var streamReader = inputFactory.createXMLStreamReader(reader);
+
+            try {
+                while (streamReader.hasNext()) {
+                    int event = streamReader.next();
+
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        return determineXmlSyntax(streamReader.getLocalName());
+                    }
+                }
+            } finally {
+                streamReader.close();
+            }
+        } catch (XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+
+        throw new InvalidXmlException();
+    }
+
+    private @NonNull XmlSniffResult sniff(@NonNull XMLStreamReader streamReader)
+        throws XMLStreamException {
+        var path = new ArrayList<String>();
+
+        @Nullable XMLSyntaxType xmlSyntaxType = null;
+
+        while (streamReader.hasNext()) {
+            int event = streamReader.next();
+
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                path.removeLast();
+                continue;
+            }
+
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            var localName = streamReader.getLocalName();
+
+            if (xmlSyntaxType == null) {
+                xmlSyntaxType = determineXmlSyntax(localName);
+            }
+
+            if (isProfileElement(xmlSyntaxType, path, localName)) {
+                return new XmlSniffResult(
+                    xmlSyntaxType,
+                    XmlProfileType
+                        .tryFromString(streamReader.getElementText())
+                        .orElse(null)
+                );
+            }
+
+            path.add(localName);
+        }
+
+        if (xmlSyntaxType == null) {
+            throw new InvalidXmlException();
+        }
+
+        return new XmlSniffResult(xmlSyntaxType, null);
+    }
+
+    private @NonNull XMLSyntaxType determineXmlSyntax(
+        @NonNull String rootElementName
+    ) {
+        return switch (rootElementName) {
+            case "CrossIndustryInvoice" -> XMLSyntaxType.CII;
+            case "Invoice", "CreditNote" -> XMLSyntaxType.UBL;
+            default -> throw new InvalidXmlException();
+        };
+    }
+
+    private boolean isProfileElement(
+        @NonNull XMLSyntaxType xmlSyntaxType,
+        @NonNull List<String> path,
+        @NonNull String localName
+    ) {
+        return switch (xmlSyntaxType) {
+            case CII -> localName.equals("ID") &&
+            getAncestor(path, 1).equals(
+                "GuidelineSpecifiedDocumentContextParameter"
+            ) &&
+            getAncestor(path, 2).equals("ExchangedDocumentContext");
+            case UBL -> localName.equals("CustomizationID");
+        };
+    }
+
+    private @NonNull String getAncestor(
+        @NonNull List<String> path,
+        int distance
+    ) {
+        int index = path.size() - distance;
+
+        return index < 0 ? "" : path.get(index);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.easybill;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+@QuarkusIntegrationTest
+class AdminResourceIT extends AdminControllerTest {
+    // Execute the same tests but in packaged mode.
+}
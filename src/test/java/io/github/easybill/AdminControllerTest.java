@@ -0,0 +1,43 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class AdminControllerTest {
+
+    @Test
+    void testRoutesEndpoint() {
+        given()
+            .when()
+            .get("/admin/routes")
+            .then()
+            .statusCode(200)
+            .body("$", hasSize(6))
+            .body(
+                "validator",
+                hasItems(
+                    "EN16931SchematronValidator",
+                    "FacturXSchematronValidator",
+                    "PeppolSchematronValidator",
+                    "XRechnungSchematronValidator"
+                )
+            );
+    }
+
+    @Test
+    void testRuleProfileEndpointWhileProfilingIsDisabled() {
+        given()
+            .when()
+            .get("/admin/rule-profile?top=5&kind=ASSERT")
+            .then()
+            .statusCode(200)
+            .body("enabled", equalTo(false))
+            .body("entries", hasSize(0));
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.github.easybill.Contracts.IAdmissionController;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Admits a single validation with room for a single waiting one. The test
+ * holds the only permit itself, so every request has to queue.
+ */
+@QuarkusTest
+@TestProfile(AdmissionTest.SingleValidation.class)
+class AdmissionTest {
+
+    @Inject
+    IAdmissionController admissionController;
+
+    @Test
+    void testRequestBeyondTheQueueIsAnsweredWith429() throws Exception {
+        var payload = Fixtures.load("EN16931/EN16931_001.xml");
+        double queueFull = rejections("queue_full");
+        double queueTimeout = rejections("queue_timeout");
+
+        try (var permit = admissionController.admit(payload.length)) {
+            var waiting = CompletableFuture.supplyAsync(() ->
+                validate(payload)
+            );
+
+            awaitQueued(1);
+
+            assertRejected(validate(payload), 429);
+            assertRejected(waiting.get(), 503);
+        }
+
+        assertThat(rejections("queue_full"), equalTo(queueFull + 1));
+        assertThat(rejections("queue_timeout"), equalTo(queueTimeout + 1));
+    }
+
+    @Test
+    void testRequestWaitingBeyondTheQueueTimeoutIsAnsweredWith503()
+        throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_001.xml");
+        double queueTimeout = rejections("queue_timeout");
+
+        try (var permit = admissionController.admit(payload.length)) {
+            assertRejected(validate(payload), 503);
+        }
+
+        assertThat(rejections("queue_timeout"), equalTo(queueTimeout + 1));
+    }
+
+    @Test
+    void testBatchDocumentWaitsForAdmissionBeyondTheQueueTimeout()
+        throws Exception {
+        var payload = Fixtures.load("EN16931/EN16931_001.xml");
+        CompletableFuture<String> batch;
+
+        try (var permit = admissionController.admit(payload.length)) {
+            batch =
+                CompletableFuture.supplyAsync(() ->
+                    given()
+                        .multiPart(
+                            "files",
+                            "EN16931_001.xml",
+                            payload,
+                            "application/xml"
+                        )
+                        .when()
+                        .post("/validation/batch")
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .asString()
+                );
+
+            Thread.sleep(1500);
+            assertFalse(batch.isDone());
+        }
+
+        assertThat(
+            JsonPath.from(batch.get()).getInt("status"),
+            equalTo(200)
+        );
+    }
+
+    @Test
+    void testRequestIsValidatedOnceAdmitted() throws IOException {
+        validate(Fixtures.load("EN16931/EN16931_001.xml")).statusCode(200);
+    }
+
+    private static @NonNull ValidatableResponse validate(
+        byte @NonNull [] payload
+    ) {
+        return given()
+            .body(payload)
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then();
+    }
+
+    private static void assertRejected(
+        @NonNull ValidatableResponse response,
+        int status
+    ) {
+        response
+            .statusCode(status)
+            .header("Retry-After", "7")
+            .body(
+                "error",
+                equalTo("The service is saturated. Please retry later.")
+            );
+    }
+
+    private static void awaitQueued(int queued) throws InterruptedException {
+        while (metric("validation_admission_queued") < queued) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static double rejections(@NonNull String reason) {
+        return metric(
+            "validation_admission_rejections_total{reason=\"" + reason + "\""
+        );
+    }
+
+    /**
+     * @return the value of the first sample starting with the given name and
+     * tags, or 0 if there is none yet
+     */
+    private static double metric(@NonNull String sample) {
+        return given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString()
+            .lines()
+            .filter(line -> line.startsWith(sample))
+            .mapToDouble(line ->
+                Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1))
+            )
+            .findFirst()
+            .orElse(0);
+    }
+
+    public static final class SingleValidation implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "app.validation.admission.max-concurrent",
+                "1",
+                "app.validation.admission.max-queued",
+                "1",
+                "app.validation.admission.queue-timeout",
+                "1s",
+                "app.validation.admission.retry-after",
+                "7s"
+            );
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs batches against a limit of two documents and 30 KiB. EN16931_010 alone
+ * is larger than that, the other fixtures used here are about 5 KiB each. The
+ * body size is kept at its default, as a lower batch limit would cap it too.
+ */
+@QuarkusTest
+@TestProfile(BatchLimitsTest.BatchLimits.class)
+class BatchLimitsTest {
+
+    @Test
+    void testMultipartBatchWithTooManyDocumentsIsRejected() {
+        var response = multipart(
+            "EN16931/EN16931_001.xml",
+            "EN16931/EN16931_021.xml",
+            "EN16931/EN16931_025.xml"
+        )
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(413)
+            .extract()
+            .asString();
+
+        assertThat(JsonPath.from(response).getString("error"), notNullValue());
+    }
+
+    @Test
+    void testMultipartBatchExceedingTheMaximumSizeIsRejected() {
+        multipart("EN16931/EN16931_001.xml", "EN16931/EN16931_010.xml")
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(413);
+    }
+
+    @Test
+    void testMultipartBatchWithinTheLimitsIsValidated() {
+        var response = multipart(
+            "EN16931/EN16931_001.xml",
+            "EN16931/EN16931_025.xml"
+        )
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatuses(response),
+            equalTo(
+                Map.of(
+                    "EN16931/EN16931_001.xml",
+                    200,
+                    "EN16931/EN16931_025.xml",
+                    200
+                )
+            )
+        );
+    }
+
+    @Test
+    void testZipBatchStopsAtTheEntryExceedingTheMaximumNumberOfDocuments()
+        throws IOException {
+        var response = zip(
+            "EN16931/EN16931_001.xml",
+            "EN16931/EN16931_025.xml",
+            "EN16931/EN16931_021.xml",
+            "XRechnung/XRechnung_001.xml"
+        )
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatuses(response),
+            equalTo(
+                Map.of(
+                    "EN16931/EN16931_001.xml",
+                    200,
+                    "EN16931/EN16931_025.xml",
+                    200,
+                    "EN16931/EN16931_021.xml",
+                    413
+                )
+            )
+        );
+    }
+
+    @Test
+    void testZipBatchStopsAtTheEntryExceedingTheMaximumSize()
+        throws IOException {
+        var response = zip(
+            "EN16931/EN16931_001.xml",
+            "EN16931/EN16931_010.xml",
+            "EN16931/EN16931_025.xml"
+        )
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatuses(response),
+            equalTo(
+                Map.of(
+                    "EN16931/EN16931_001.xml",
+                    200,
+                    "EN16931/EN16931_010.xml",
+                    413
+                )
+            )
+        );
+    }
+
+    private static @NonNull RequestSpecification multipart(
+        @NonNull String... fixtureFileNames
+    ) {
+        var request = given();
+
+        for (String fixtureFileName : fixtureFileNames) {
+            request.multiPart(
+                "files",
+                fixtureFileName,
+                Fixtures.open(fixtureFileName),
+                "application/xml"
+            );
+        }
+
+        return request;
+    }
+
+    private static @NonNull RequestSpecification zip(
+        @NonNull String... fixtureFileNames
+    ) throws IOException {
+        var zip = new ByteArrayOutputStream();
+
+        try (var zipOutputStream = new ZipOutputStream(zip)) {
+            for (String fixtureFileName : fixtureFileNames) {
+                zipOutputStream.putNextEntry(new ZipEntry(fixtureFileName));
+                zipOutputStream.write(Fixtures.load(fixtureFileName));
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return given().body(zip.toByteArray()).contentType("application/zip");
+    }
+
+    private static Map<String, Integer> collectStatuses(
+        @NonNull String response
+    ) {
+        return response
+            .lines()
+            .map(JsonPath::from)
+            .collect(
+                Collectors.toMap(
+                    line -> line.getString("name"),
+                    line -> line.getInt("status")
+                )
+            );
+    }
+
+    public static final class BatchLimits implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "app.validation.batch-max-documents",
+                "2",
+                "app.validation.batch-max-size",
+                "30K",
+                "quarkus.http.limits.max-body-size",
+                "10M"
+            );
+        }
+    }
+}
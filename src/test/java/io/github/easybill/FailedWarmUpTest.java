@@ -0,0 +1,155 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import io.github.easybill.Contracts.ISchematronValidator;
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Contracts.IWarmUpService;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.github.easybill.Exceptions.ValidationChainException;
+import io.github.easybill.Services.ValidatorRouter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Warms up with a router whose first route fails every validation, while the
+ * other routes are validated as usual.
+ */
+@QuarkusTest
+@TestProfile(FailedWarmUpTest.FailingRoute.class)
+class FailedWarmUpTest {
+
+    @Inject
+    IValidatorRouter validatorRouter;
+
+    @Inject
+    IWarmUpService warmUpService;
+
+    @Test
+    void testReadinessIsDownIfTheSampleOfARouteFails()
+        throws InterruptedException {
+        awaitWarmUp();
+
+        var routes = validatorRouter.getRoutes();
+        var response = given()
+            .when()
+            .get("/health/ready")
+            .then()
+            .statusCode(503)
+            .body(
+                "checks.find { it.name == 'RuleSets' }.status",
+                equalTo("DOWN")
+            );
+
+        for (ValidatorRoute route : routes) {
+            response.body(
+                "checks.find { it.name == 'RuleSets' }.data.'warmUpValidated." +
+                route.xmlProfileType().name() +
+                "_" +
+                route.xmlSyntaxType().name() +
+                "'",
+                equalTo(!route.equals(routes.get(0)))
+            );
+        }
+    }
+
+    private void awaitWarmUp() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+
+        while (!warmUpService.isFinished()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The warm-up did not finish in time");
+            }
+
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Routes like the regular router, except for its first route, which is
+     * dispatched to a validator that always fails.
+     */
+    @Alternative
+    @Singleton
+    public static final class FailingRouter implements IValidatorRouter {
+
+        private final ValidatorRouter router;
+
+        public FailingRouter(ValidatorRouter router) {
+            this.router = router;
+        }
+
+        @Override
+        public @NonNull Optional<ISchematronValidator> route(
+            @NonNull XmlProfileType xmlProfileType,
+            @NonNull XMLSyntaxType xmlSyntaxType
+        ) {
+            var failingRoute = router.getRoutes().get(0);
+
+            if (
+                failingRoute.xmlProfileType() == xmlProfileType &&
+                failingRoute.xmlSyntaxType() == xmlSyntaxType
+            ) {
+                return Optional.of(
+                    new ISchematronValidator() {
+                        @Override
+                        public boolean supports(
+                            XmlProfileType xmlProfileType,
+                            XMLSyntaxType xmlSyntaxType
+                        ) {
+                            return true;
+                        }
+
+                        @Override
+                        public Optional<ValidationResult> validate(
+                            ValidationRequest validationRequest
+                        ) {
+                            throw new ValidationChainException();
+                        }
+                    }
+                );
+            }
+
+            return router.route(xmlProfileType, xmlSyntaxType);
+        }
+
+        @Override
+        public @NonNull List<@NonNull ValidatorRoute> getRoutes() {
+            return router.getRoutes();
+        }
+
+        @Override
+        public @NonNull List<@NonNull ISchematronValidator> getValidators() {
+            return router.getValidators();
+        }
+    }
+
+    public static final class FailingRoute implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("app.validation.warm-up.iterations", "1");
+        }
+
+        @Override
+        public Set<Class<?>> getEnabledAlternatives() {
+            return Set.of(FailingRouter.class);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.easybill;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.w3c.dom.Element;
+
+/**
+ * Loads the sample invoices under {@code src/test/resources} and derives
+ * invoices with more line items from them.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static @NonNull InputStream open(@NonNull String fixtureFileName) {
+        try {
+            return Objects
+                .requireNonNull(
+                    Thread
+                        .currentThread()
+                        .getContextClassLoader()
+                        .getResource(fixtureFileName),
+                    fixtureFileName
+                )
+                .openStream();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    static byte @NonNull [] load(@NonNull String fixtureFileName)
+        throws IOException {
+        try (var inputStream = open(fixtureFileName)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * @return the names of the XML fixtures in the given directories, sorted
+     */
+    static @NonNull Stream<String> list(@NonNull String... directories)
+        throws IOException, URISyntaxException {
+        var fixtureFileNames = new ArrayList<String>();
+
+        for (String directory : directories) {
+            var root = Path.of(
+                Objects
+                    .requireNonNull(
+                        Fixtures.class.getClassLoader().getResource(directory),
+                        directory
+                    )
+                    .toURI()
+            );
+
+            try (var files = Files.list(root)) {
+                files
+                    .map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(".xml"))
+                    .map(fileName -> directory + "/" + fileName)
+                    .forEach(fixtureFileNames::add);
+            }
+        }
+
+        return fixtureFileNames.stream().sorted();
+    }
+
+    /**
+     * Replaces the line items of the given invoice with numbered copies of its
+     * first line item. Totals are left untouched.
+     */
+    static byte @NonNull [] withLineItems(
+        byte @NonNull [] invoice,
+        int lineItems
+    ) throws Exception {
+        var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+
+        var document = factory
+            .newDocumentBuilder()
+            .parse(new ByteArrayInputStream(invoice));
+        var lines = new ArrayList<Element>();
+
+        for (String name : new String[] {
+            "IncludedSupplyChainTradeLineItem",
+            "InvoiceLine",
+            "CreditNoteLine",
+        }) {
+            var elements = document.getElementsByTagNameNS("*", name);
+
+            for (int i = 0; i < elements.getLength(); i++) {
+                lines.add((Element) elements.item(i));
+            }
+        }
+
+        var template = lines.get(0);
+        var parent = template.getParentNode();
+        var anchor = lines.get(lines.size() - 1).getNextSibling();
+
+        lines.forEach(parent::removeChild);
+
+        for (int i = 1; i <= lineItems; i++) {
+            var line = (Element) template.cloneNode(true);
+            var lineIds = line.getElementsByTagNameNS("*", "LineID");
+            var lineId = lineIds.getLength() > 0
+                ? lineIds.item(0)
+                : line.getElementsByTagNameNS("*", "ID").item(0);
+
+            lineId.setTextContent(Integer.toString(i));
+            parent.insertBefore(line, anchor);
+        }
+
+        var output = new ByteArrayOutputStream();
+
+        TransformerFactory
+            .newInstance()
+            .newTransformer()
+            .transform(new DOMSource(document), new StreamResult(output));
+
+        return output.toByteArray();
+    }
+}
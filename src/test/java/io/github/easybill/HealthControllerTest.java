@@ -1,6 +1,7 @@
 package io.github.easybill;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 
 import io.quarkus.test.junit.QuarkusTest;
@@ -19,4 +20,14 @@ class HealthControllerTest {
             .statusCode(200)
             .body("status", is("UP"));
     }
+
+    @Test
+    void testReadinessEndpoint() {
+        given()
+            .when()
+            .get("/health/ready")
+            .then()
+            .statusCode(200)
+            .body("checks.name", hasItem("RuleSets"));
+    }
 }
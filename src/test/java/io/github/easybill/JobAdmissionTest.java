@@ -0,0 +1,126 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import io.github.easybill.Contracts.IAdmissionController;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Admits a single validation without any queue and accepts jobs of up to
+ * 8 KiB of payloads. The test holds the only permit itself while submitting
+ * jobs of about 5 KiB.
+ */
+@QuarkusTest
+@TestProfile(JobAdmissionTest.SaturatedService.class)
+class JobAdmissionTest {
+
+    @Inject
+    IAdmissionController admissionController;
+
+    @Test
+    void testJobWaitsForAdmissionBeyondTheQueueTimeout() throws Exception {
+        String location;
+
+        try (var permit = admissionController.admit(1)) {
+            location = submit().statusCode(202).extract().header("Location");
+
+            Thread.sleep(500);
+
+            given()
+                .when()
+                .get(location)
+                .then()
+                .statusCode(200)
+                .body("state", not(equalTo("FAILED")));
+        }
+
+        awaitCompletion(location);
+
+        given()
+            .when()
+            .get(location + "/result")
+            .then()
+            .statusCode(200)
+            .body("is_valid", equalTo(true));
+    }
+
+    @Test
+    void testJobsBeyondThePendingBytesAreAnsweredWith429() throws Exception {
+        String location;
+
+        try (var permit = admissionController.admit(1)) {
+            location = submit().statusCode(202).extract().header("Location");
+
+            submit().statusCode(429).header("Retry-After", notNullValue());
+        }
+
+        awaitCompletion(location);
+
+        awaitCompletion(
+            submit().statusCode(202).extract().header("Location")
+        );
+    }
+
+    private static @NonNull ValidatableResponse submit() throws IOException {
+        return given()
+            .body(Fixtures.load("EN16931/EN16931_001.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation/jobs")
+            .then();
+    }
+
+    private static void awaitCompletion(@NonNull String location)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+
+        while (
+            !given()
+                .when()
+                .get(location)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("state")
+                .equals("COMPLETED")
+        ) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The job did not complete in time");
+            }
+
+            Thread.sleep(100);
+        }
+    }
+
+    public static final class SaturatedService implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "app.validation.admission.max-concurrent",
+                "1",
+                "app.validation.admission.max-queued",
+                "0",
+                "app.validation.admission.queue-timeout",
+                "100ms",
+                "app.validation.jobs.workers",
+                "1",
+                "app.validation.jobs.max-pending-bytes",
+                "8K"
+            );
+        }
+    }
+}
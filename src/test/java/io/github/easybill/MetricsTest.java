@@ -0,0 +1,148 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationStage;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class MetricsTest {
+
+    @Test
+    void testValidationRecordsStagesAndRuleSetsTaggedBySyntaxAndProfile() {
+        var response = JsonPath.from(
+            given()
+                .body(Fixtures.open("XRechnung/XRechnung_001.xml"))
+                .contentType(ContentType.XML)
+                .when()
+                .post("/validation")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString()
+        );
+        var syntax = response.getString("meta.xml_syntax_type");
+        var profile = response.getString("meta.xml_profile_type");
+        var metrics = scrape();
+
+        for (ValidationStage stage : ValidationStage.values()) {
+            assertThat(
+                stage.tag(),
+                sample(
+                    metrics,
+                    "validation_stage_seconds_count",
+                    Map.of(
+                        "stage",
+                        stage.tag(),
+                        "syntax",
+                        syntax,
+                        "profile",
+                        profile
+                    )
+                ),
+                greaterThan(0.0)
+            );
+        }
+
+        for (SchematronRuleSet ruleSet : new SchematronRuleSet[] {
+            SchematronRuleSet.EN16931_CII,
+            SchematronRuleSet.XRECHNUNG_CII,
+        }) {
+            assertThat(
+                ruleSet.name(),
+                sample(
+                    metrics,
+                    "validation_rule_set_seconds_count",
+                    Map.of(
+                        "rule_set",
+                        ruleSet.name(),
+                        "syntax",
+                        syntax,
+                        "profile",
+                        profile
+                    )
+                ),
+                greaterThan(0.0)
+            );
+        }
+
+        assertThat(
+            sample(
+                metrics,
+                "validation_payload_size_bytes_count",
+                Map.of("syntax", syntax, "profile", profile)
+            ),
+            greaterThan(0.0)
+        );
+    }
+
+    @Test
+    void testRejectionsAreCountedByReason() {
+        var rejections = Map.of("reason", "invalid_xml");
+        double before = sample(
+            scrape(),
+            "validation_rejections_total",
+            rejections
+        );
+
+        given()
+            .body(Fixtures.open("Invalid/Invalid_003.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(422);
+
+        assertThat(
+            sample(scrape(), "validation_rejections_total", rejections),
+            equalTo(before + 1)
+        );
+    }
+
+    private static @NonNull String scrape() {
+        return given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+    }
+
+    /**
+     * @return the sum of all samples of the metric carrying the given tags,
+     * or 0 if there are none
+     */
+    private static double sample(
+        @NonNull String metrics,
+        @NonNull String name,
+        @NonNull Map<String, String> tags
+    ) {
+        return metrics
+            .lines()
+            .filter(line -> line.startsWith(name + "{"))
+            .filter(line ->
+                tags
+                    .entrySet()
+                    .stream()
+                    .allMatch(tag ->
+                        line.contains(
+                            tag.getKey() + "=\"" + tag.getValue() + "\""
+                        )
+                    )
+            )
+            .mapToDouble(line ->
+                Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1))
+            )
+            .sum();
+    }
+}
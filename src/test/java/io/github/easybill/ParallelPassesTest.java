@@ -0,0 +1,234 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleSetExecutor;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Dtos.ValidationRequest;
+import io.github.easybill.Dtos.ValidationResult;
+import io.github.easybill.Dtos.ValidatorResults.EN16931ValidatorResult;
+import io.github.easybill.Dtos.ValidatorResults.ValidatorResult;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Enums.XmlProfileType;
+import io.github.easybill.Services.RuleSets.LoadedRuleSet;
+import io.github.easybill.Services.RuleSets.RuleSetExecutor;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Axis;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmNodeKind;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs the fixtures with parallel passes and compares the reports with those
+ * of the same rule sets run one after another.
+ */
+@QuarkusTest
+@TestProfile(ParallelPassesTest.ParallelPasses.class)
+class ParallelPassesTest {
+
+    @Inject
+    IApplicationConfig config;
+
+    @Inject
+    IRuleSetExecutor ruleSetExecutor;
+
+    @Inject
+    ISchematronRuleSetRegistry ruleSetRegistry;
+
+    @Inject
+    IValidationMetrics metrics;
+
+    static Stream<String> fixtures() throws Exception {
+        return Fixtures.list("EN16931", "FacturX", "Peppol", "XRechnung");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void testParallelPassesMatchSequentialPasses(
+        @NonNull String fixtureFileName
+    ) throws Exception {
+        var sequentialExecutor = new RuleSetExecutor(
+            withSequentialPasses(config),
+            metrics
+        );
+        var document = ruleSetRegistry
+            .newDocumentBuilder()
+            .build(new StreamSource(Fixtures.open(fixtureFileName)));
+        var xmlSyntaxType = syntaxOf(document);
+        var validationRequest = new ValidationRequest(
+            xmlSyntaxType,
+            XmlProfileType.EN16931,
+            StandardCharsets.UTF_8,
+            document,
+            ValidationMode.COMPLETE
+        );
+        var ruleSets = Stream
+            .concat(
+                Stream.of(
+                    xmlSyntaxType == XMLSyntaxType.CII
+                        ? SchematronRuleSet.EN16931_CII
+                        : SchematronRuleSet.EN16931_UBL
+                ),
+                profileRuleSets(fixtureFileName, xmlSyntaxType)
+            )
+            .map(ruleSetRegistry::get)
+            .toArray(LoadedRuleSet[]::new);
+
+        assertEquals(
+            reports(sequentialExecutor, validationRequest, ruleSets),
+            reports(ruleSetExecutor, validationRequest, ruleSets)
+        );
+    }
+
+    @Test
+    void testValidationResultsKeepTheOrderOfTheRuleSets() {
+        given()
+            .body(Fixtures.open("XRechnung/XRechnung_001.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(200)
+            .body("is_valid", equalTo(true))
+            .body(
+                "validation_results.name",
+                contains("EN16931", "XRechnung")
+            );
+    }
+
+    private static List<List<?>> reports(
+        @NonNull IRuleSetExecutor executor,
+        @NonNull ValidationRequest validationRequest,
+        @NonNull LoadedRuleSet... ruleSets
+    ) throws Exception {
+        return executor
+            .apply(
+                validationRequest,
+                reports ->
+                    ValidationResult.of(
+                        validationRequest.xmlProfileType(),
+                        validationRequest,
+                        reports
+                            .stream()
+                            .map(EN16931ValidatorResult::of)
+                            .toArray(ValidatorResult[]::new)
+                    ),
+                ruleSets
+            )
+            .orElseThrow()
+            .validationResults()
+            .stream()
+            .<List<?>>map(result ->
+                List.of(result.getErrors(), result.getWarnings())
+            )
+            .toList();
+    }
+
+    /**
+     * @return the rule sets run along with EN16931 for the profile the
+     * fixture belongs to, or EN16931 once more for plain EN16931 fixtures
+     */
+    private static @NonNull Stream<SchematronRuleSet> profileRuleSets(
+        @NonNull String fixtureFileName,
+        @NonNull XMLSyntaxType xmlSyntaxType
+    ) {
+        var directory = fixtureFileName.substring(
+            0,
+            fixtureFileName.indexOf('/')
+        );
+        var family =
+            switch (directory) {
+                case "FacturX" -> "factur-x";
+                case "Peppol" -> "Peppol BIS";
+                case "XRechnung" -> "XRechnung";
+                default -> "EN16931";
+            };
+
+        return Arrays
+            .stream(SchematronRuleSet.values())
+            .filter(ruleSet -> ruleSet.syntax() == xmlSyntaxType)
+            .filter(ruleSet -> ruleSet.family().equals(family));
+    }
+
+    private static @NonNull XMLSyntaxType syntaxOf(@NonNull XdmNode document) {
+        var root = document
+            .axisIterator(Axis.CHILD)
+            .stream()
+            .filter(node -> node.getNodeKind() == XdmNodeKind.ELEMENT)
+            .findFirst()
+            .orElseThrow();
+
+        return root.getNodeName().getLocalName().equals("CrossIndustryInvoice")
+            ? XMLSyntaxType.CII
+            : XMLSyntaxType.UBL;
+    }
+
+    /**
+     * @return the given config with parallel passes disabled
+     */
+    private static @NonNull IApplicationConfig withSequentialPasses(
+        @NonNull IApplicationConfig config
+    ) {
+        var validation = (IApplicationConfig.Validation) Proxy.newProxyInstance(
+            ParallelPassesTest.class.getClassLoader(),
+            new Class<?>[] { IApplicationConfig.Validation.class },
+            (proxy, method, arguments) ->
+                method.getName().equals("parallelPasses")
+                    ? false
+                    : invoke(method, config.validation(), arguments)
+        );
+
+        return (IApplicationConfig) Proxy.newProxyInstance(
+            ParallelPassesTest.class.getClassLoader(),
+            new Class<?>[] { IApplicationConfig.class },
+            (proxy, method, arguments) ->
+                method.getName().equals("validation")
+                    ? validation
+                    : invoke(method, config, arguments)
+        );
+    }
+
+    private static Object invoke(
+        Method method,
+        Object target,
+        Object[] arguments
+    ) throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException exception) {
+            throw Objects.requireNonNull(exception.getCause());
+        }
+    }
+
+    public static final class ParallelPasses implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("app.validation.parallel-passes", "true");
+        }
+    }
+}
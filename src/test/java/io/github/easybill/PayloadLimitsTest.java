@@ -0,0 +1,119 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.easybill.Contracts.IPayloadReader;
+import io.github.easybill.Exceptions.PayloadTooLargeException;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Runs against a maximum payload size of 8 KiB. EN16931_001 is below that,
+ * EN16931_010 above.
+ */
+@QuarkusTest
+@TestProfile(PayloadLimitsTest.SmallPayloads.class)
+class PayloadLimitsTest {
+
+    private static final long MAX_PAYLOAD_SIZE = 8 * 1024;
+
+    @Inject
+    IPayloadReader payloadReader;
+
+    @Test
+    void testOversizedPayloadIsAnsweredWith413() {
+        given()
+            .body(Fixtures.open("EN16931/EN16931_010.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(413)
+            .body(
+                "error",
+                equalTo("The provided XML exceeds the maximum payload size.")
+            );
+    }
+
+    @Test
+    void testPayloadWithinTheLimitIsValidated() {
+        given()
+            .body(Fixtures.open("EN16931/EN16931_001.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(200);
+    }
+
+    @Test
+    void testOversizedPayloadWithoutAnnouncedLengthIsRejected()
+        throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_010.xml");
+
+        assertThrows(
+            PayloadTooLargeException.class,
+            () -> payloadReader.read(new ByteArrayInputStream(payload), -1)
+        );
+    }
+
+    @Test
+    void testOversizedPayloadUnderstatingItsLengthIsRejected()
+        throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_010.xml");
+
+        assertThrows(
+            PayloadTooLargeException.class,
+            () -> payloadReader.read(new ByteArrayInputStream(payload), 100)
+        );
+    }
+
+    @Test
+    void testAnnouncedLengthAboveTheLimitIsRejectedBeforeReading() {
+        assertThrows(
+            PayloadTooLargeException.class,
+            () ->
+                payloadReader.read(
+                    new ByteArrayInputStream(new byte[0]),
+                    MAX_PAYLOAD_SIZE + 1
+                )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { -1, 0, 100, 4935, 8192 })
+    void testPayloadIsReadCompletelyWhateverLengthWasAnnounced(
+        long expectedLength
+    ) throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_001.xml");
+
+        var read = payloadReader.read(
+            new ByteArrayInputStream(payload),
+            expectedLength
+        );
+
+        assertEquals(payload.length, read.length());
+        assertArrayEquals(payload, read.newInputStream(0).readAllBytes());
+    }
+
+    public static final class SmallPayloads implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("app.validation.max-payload-size", "8K");
+        }
+    }
+}
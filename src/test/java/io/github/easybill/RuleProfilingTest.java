@@ -0,0 +1,85 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(RuleProfilingTest.ProfilingEnabled.class)
+class RuleProfilingTest {
+
+    @BeforeEach
+    void validateFixture() {
+        given().when().delete("/admin/rule-profile").then().statusCode(204);
+
+        given()
+            .body(Fixtures.open("XRechnung/XRechnung_001.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(200);
+    }
+
+    @Test
+    void testProfileCoversPatternsRulesAndAsserts() {
+        given()
+            .when()
+            .get("/admin/rule-profile")
+            .then()
+            .statusCode(200)
+            .body("enabled", equalTo(true))
+            .body("entries.kind", hasItems("PATTERN", "RULE", "ASSERT"))
+            .body("entries.rule_set", hasItems("EN16931_CII", "XRECHNUNG_CII"));
+    }
+
+    @Test
+    void testProfileIsLimitedToTheTopEntries() {
+        given()
+            .when()
+            .get("/admin/rule-profile?top=3")
+            .then()
+            .statusCode(200)
+            .body("entries", hasSize(3));
+    }
+
+    @Test
+    void testProfileIsFilteredByKind() {
+        given()
+            .when()
+            .get("/admin/rule-profile?kind=RULE")
+            .then()
+            .statusCode(200)
+            .body("entries", not(empty()))
+            .body("entries.kind", everyItem(equalTo("RULE")));
+    }
+
+    public static final class ProfilingEnabled implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "app.validation.profiling.enabled",
+                "true",
+                "app.validation.profiling.dump-file",
+                Path
+                    .of(System.getProperty("java.io.tmpdir"))
+                    .resolve("rule-profile-test.json")
+                    .toString()
+            );
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.easybill.Services.RuleSets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmEmptySequence;
+import net.sf.saxon.s9api.XdmItem;
+import net.sf.saxon.s9api.XdmValue;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class CodeDbContainsFunctionTest {
+
+    private static final String CODE_DB =
+        """
+        <codedb>
+          <cl id="1"><enumeration value="EUR"/><enumeration value="USD"/></cl>
+          <cl id="2"><enumeration value="DE"/></cl>
+        </codedb>
+        """;
+
+    private static final String STYLESHEET =
+        """
+        <xsl:stylesheet version="3.0"
+            xmlns:xsl="http://www.w3.org/1999/XSL/Transform"
+            xmlns:xs="http://www.w3.org/2001/XMLSchema"
+            xmlns:codedb="%s">
+          <xsl:param name="list" as="xs:string"/>
+          <xsl:param name="value" as="xs:string?"/>
+          <xsl:template name="xsl:initial-template" as="xs:boolean">
+            <xsl:sequence select="codedb:contains('codedb.xml', $list, $value)"/>
+          </xsl:template>
+        </xsl:stylesheet>
+        """.formatted(CodeDbContainsFunction.NAMESPACE);
+
+    private static final Pattern CODE_LIST_LOOKUP = Pattern.compile(
+        "document\\([^)]*\\)\\s*//\\s*cl\\s*\\["
+    );
+
+    @TempDir
+    Path directory;
+
+    private final Processor processor = new Processor(false);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        processor.registerExtensionFunction(new CodeDbContainsFunction());
+        Files.writeString(directory.resolve("codedb.xml"), CODE_DB);
+    }
+
+    @Test
+    void testValueOfTheCodeListIsContained() throws Exception {
+        var executable = compile("rule-set.xslt");
+
+        assertTrue(contains(executable, "1", "EUR"));
+        assertTrue(contains(executable, "2", "DE"));
+    }
+
+    @Test
+    void testValueOfAnotherCodeListIsNotContained() throws Exception {
+        var executable = compile("rule-set.xslt");
+
+        assertFalse(contains(executable, "1", "DE"));
+        assertFalse(contains(executable, "2", "EUR"));
+    }
+
+    @Test
+    void testNothingIsContainedInAnUnknownCodeList() throws Exception {
+        assertFalse(contains(compile("rule-set.xslt"), "3", "EUR"));
+    }
+
+    @Test
+    void testMissingValueIsNotContained() throws Exception {
+        assertFalse(contains(compile("rule-set.xslt"), "1", null));
+    }
+
+    @Test
+    void testCodeDbIsIndexedOnceForEveryStylesheet() throws Exception {
+        var first = compile("first.xslt");
+
+        // a second read of the code database would now fail
+        Files.delete(directory.resolve("codedb.xml"));
+
+        var second = compile("second.xslt");
+
+        assertTrue(contains(first, "1", "USD"));
+        assertTrue(contains(second, "1", "USD"));
+        assertFalse(contains(second, "1", "GBP"));
+    }
+
+    /**
+     * Only the expressions of XSL instructions are evaluated, the failed
+     * assertions keep reporting the original test.
+     */
+    @ParameterizedTest
+    @EnumSource(SchematronRuleSet.class)
+    void testBundledRuleSetLooksUpNoCodeListInTheCodeDb(
+        @NonNull SchematronRuleSet ruleSet
+    ) throws Exception {
+        var resource = Objects.requireNonNull(
+            CodeDbContainsFunction.class.getResource(ruleSet.resourcePath())
+        );
+        var xslt = processor
+            .newDocumentBuilder()
+            .build(new StreamSource(resource.toExternalForm()));
+        var xpathCompiler = processor.newXPathCompiler();
+
+        xpathCompiler.declareNamespace(
+            "xsl",
+            "http://www.w3.org/1999/XSL/Transform"
+        );
+
+        var expressions = xpathCompiler
+            .evaluate("//xsl:*/@*/string()", xslt)
+            .stream()
+            .map(XdmItem::getStringValue)
+            .toList();
+
+        assertTrue(
+            expressions
+                .stream()
+                .noneMatch(expression ->
+                    CODE_LIST_LOOKUP.matcher(expression).find()
+                ),
+            ruleSet.name()
+        );
+
+        if (ruleSet == SchematronRuleSet.FACTURX_EXTENDED_CII) {
+            assertTrue(
+                expressions
+                    .stream()
+                    .anyMatch(expression ->
+                        expression.contains("codedb:contains(")
+                    ),
+                ruleSet.name()
+            );
+        }
+    }
+
+    private @NonNull XsltExecutable compile(@NonNull String fileName)
+        throws SaxonApiException {
+        return processor
+            .newXsltCompiler()
+            .compile(
+                new StreamSource(
+                    new StringReader(STYLESHEET),
+                    directory.resolve(fileName).toUri().toString()
+                )
+            );
+    }
+
+    private static boolean contains(
+        @NonNull XsltExecutable executable,
+        @NonNull String listId,
+        String value
+    ) throws SaxonApiException {
+        var transformer = executable.load30();
+
+        transformer.setStylesheetParameters(
+            Map.<QName, XdmValue>of(
+                new QName("list"),
+                new XdmAtomicValue(listId),
+                new QName("value"),
+                value != null
+                    ? new XdmAtomicValue(value)
+                    : XdmEmptySequence.getInstance()
+            )
+        );
+
+        return (
+            (XdmAtomicValue) transformer.callTemplate(null).itemAt(0)
+        ).getBooleanValue();
+    }
+}
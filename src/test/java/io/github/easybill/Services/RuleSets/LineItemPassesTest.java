@@ -0,0 +1,152 @@
+package io.github.easybill.Services.RuleSets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SAXDestination;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Splits the passes of EN16931 CII over an XRechnung invoice with four line
+ * items into chunks of a single line item.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LineItemPassesTest {
+
+    private final Processor processor = new Processor(false);
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private LineItemPasses lineItemPasses;
+
+    private XdmNode document;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        processor.registerExtensionFunction(new CodeDbContainsFunction());
+
+        var resource = Objects.requireNonNull(
+            LineItemPasses.class.getResource(
+                SchematronRuleSet.EN16931_CII.resourcePath()
+            )
+        );
+
+        try (var inputStream = resource.openStream()) {
+            lineItemPasses =
+                Objects.requireNonNull(
+                    LineItemPasses.compile(
+                        processor,
+                        processor.newXsltCompiler(),
+                        inputStream.readAllBytes(),
+                        resource.toExternalForm(),
+                        new LineItemPasses.Partitioning(pool, 1, 1)
+                    )
+                );
+        }
+
+        document =
+            processor
+                .newDocumentBuilder()
+                .build(
+                    new StreamSource(
+                        Objects
+                            .requireNonNull(
+                                getClass()
+                                    .getClassLoader()
+                                    .getResource("XRechnung/XRechnung_001.xml")
+                            )
+                            .toExternalForm()
+                    )
+                );
+    }
+
+    @AfterAll
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testSplitPassMatchesUnsplitPass() throws Exception {
+        var lineItems = Objects.requireNonNull(
+            lineItemPasses.selectLineItems(document)
+        );
+
+        assertEquals(4, lineItems.size());
+
+        var collectors = lineItemPasses.apply(
+            document,
+            lineItems,
+            () -> applyDocumentPass(FailedAssertCollector.forDocument(), true)
+        );
+
+        assertNotNull(collectors);
+        assertEquals(
+            applyDocumentPass(new FailedAssertCollector(false), false)
+                .toReport(),
+            FailedAssertCollector.merge(collectors)
+        );
+    }
+
+    @Test
+    void testSplitIsAbandonedIfTheDocumentPassSawOtherLineItems()
+        throws Exception {
+        var lineItems = Objects.requireNonNull(
+            lineItemPasses.selectLineItems(document)
+        );
+
+        assertNull(
+            lineItemPasses.apply(
+                document,
+                lineItems.subList(1, lineItems.size()),
+                () ->
+                    applyDocumentPass(FailedAssertCollector.forDocument(), true)
+            )
+        );
+    }
+
+    @Test
+    void testSplitIsAbandonedIfTheDocumentPassSawNoPatterns()
+        throws Exception {
+        var lineItems = Objects.requireNonNull(
+            lineItemPasses.selectLineItems(document)
+        );
+
+        assertNull(
+            lineItemPasses.apply(
+                document,
+                lineItems,
+                FailedAssertCollector::forDocument
+            )
+        );
+    }
+
+    private @NonNull FailedAssertCollector applyDocumentPass(
+        @NonNull FailedAssertCollector collector,
+        boolean skipLineItems
+    ) throws SaxonApiException {
+        var transformer = lineItemPasses.getExecutable().load();
+
+        transformer.setInitialContextNode(document);
+        transformer.setParameter(
+            LineItemPasses.SKIP,
+            new XdmAtomicValue(skipLineItems)
+        );
+        transformer.setDestination(new SAXDestination(collector));
+        transformer.transform();
+
+        return collector;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.easybill.Services.RuleSets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Services.Metrics.ValidationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.StringReader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.NullDestination;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmDestination;
+import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XsltTransformer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransformerPoolTest {
+
+    private static final String STYLESHEET =
+        "<xsl:stylesheet version=\"3.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\"><xsl:template match=\"/\"><out/></xsl:template></xsl:stylesheet>";
+
+    private final Processor processor = new Processor(false);
+
+    private XsltExecutable executable;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SaxonApiException {
+        executable = processor
+            .newXsltCompiler()
+            .compile(new StreamSource(new StringReader(STYLESHEET)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testReleasedTransformerIsReusedWithoutItsLastPass()
+        throws Exception {
+        var pool = pool(1);
+        var transformer = borrowAndTransform(pool);
+
+        pool.release(transformer, true);
+
+        assertSame(transformer, pool.borrow());
+        assertNull(transformer.getInitialContextNode());
+        assertInstanceOf(NullDestination.class, transformer.getDestination());
+    }
+
+    @Test
+    void testFailedTransformerIsDiscarded() throws Exception {
+        var pool = pool(1);
+        var transformer = borrowAndTransform(pool);
+
+        pool.release(transformer, false);
+
+        assertNotSame(transformer, pool.borrow());
+    }
+
+    @Test
+    void testBorrowWaitsForARelease() throws Exception {
+        var pool = pool(1);
+        var transformer = pool.borrow();
+        var waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+
+        pool.release(transformer, true);
+
+        assertSame(transformer, waiting.get(10, TimeUnit.SECONDS));
+
+        var waits = meterRegistry
+            .get("validation.transformer_pool.wait")
+            .tag("rule_set", SchematronRuleSet.EN16931_CII.name())
+            .timer();
+
+        assertEquals(2, waits.count());
+        assertTrue(waits.max(TimeUnit.MILLISECONDS) >= 200);
+    }
+
+    @Test
+    void testSizeBelowOneDisablesPooling() throws Exception {
+        var pool = pool(0);
+        var transformer = pool.borrow();
+
+        assertNotSame(transformer, pool.borrow());
+
+        pool.release(transformer, true);
+
+        assertNotSame(transformer, pool.borrow());
+    }
+
+    private @NonNull TransformerPool pool(int size) {
+        return new TransformerPool(
+            SchematronRuleSet.EN16931_CII,
+            executable,
+            size,
+            new ValidationMetrics(meterRegistry)
+        );
+    }
+
+    private @NonNull XsltTransformer borrowAndTransform(
+        @NonNull TransformerPool pool
+    ) throws Exception {
+        var transformer = pool.borrow();
+
+        transformer.setInitialContextNode(
+            processor
+                .newDocumentBuilder()
+                .build(new StreamSource(new StringReader("<in/>")))
+        );
+        transformer.setDestination(new XdmDestination());
+        transformer.transform();
+
+        return transformer;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.easybill;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+/**
+ * Splits every pass into chunks of a single line item.
+ */
+@QuarkusTest
+@TestProfile(SplitPassesInChunksOfOneTest.ChunksOfOne.class)
+class SplitPassesInChunksOfOneTest extends SplitPassesTest {
+
+    public static final class ChunksOfOne implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return splitPasses(1);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.easybill;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+/**
+ * Splits every pass into chunks of two line items.
+ */
+@QuarkusTest
+@TestProfile(SplitPassesInChunksOfTwoTest.ChunksOfTwo.class)
+class SplitPassesInChunksOfTwoTest extends SplitPassesTest {
+
+    public static final class ChunksOfTwo implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return splitPasses(2);
+        }
+    }
+}
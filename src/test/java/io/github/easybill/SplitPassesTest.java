@@ -0,0 +1,260 @@
+package io.github.easybill;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.easybill.Contracts.IApplicationConfig;
+import io.github.easybill.Contracts.IRuleProfiler;
+import io.github.easybill.Contracts.ISchematronRuleSetRegistry;
+import io.github.easybill.Contracts.IValidationMetrics;
+import io.github.easybill.Dtos.SchematronReport;
+import io.github.easybill.Enums.SchematronRuleSet;
+import io.github.easybill.Enums.ValidationMode;
+import io.github.easybill.Enums.XMLSyntaxType;
+import io.github.easybill.Services.RuleSets.SchematronRuleSetRegistry;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.s9api.Axis;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmNodeKind;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Runs the fixtures with every complete pass split by line items, as the
+ * profiles of the subclasses split from a single line item on, and compares
+ * the failed assertions with those of unsplit passes.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class SplitPassesTest {
+
+    @Inject
+    IApplicationConfig config;
+
+    @Inject
+    IValidationMetrics metrics;
+
+    @Inject
+    IRuleProfiler ruleProfiler;
+
+    @Inject
+    ISchematronRuleSetRegistry ruleSetRegistry;
+
+    private @Nullable ISchematronRuleSetRegistry unsplitRuleSetRegistry;
+
+    static Stream<String> fixtures() throws Exception {
+        return Fixtures.list("EN16931", "FacturX", "Peppol", "XRechnung");
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void testSplitPassesMatchUnsplitPasses(@NonNull String fixtureFileName)
+        throws Exception {
+        assertSplitPassesMatchUnsplitPasses(
+            fixtureFileName,
+            Fixtures.load(fixtureFileName)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "EN16931/EN16931_001.xml",
+            "Peppol/Peppol_001.xml",
+            "XRechnung/XRechnung_001.xml",
+        }
+    )
+    void testSplitPassesMatchUnsplitPassesOverManyLineItems(
+        @NonNull String fixtureFileName
+    ) throws Exception {
+        assertSplitPassesMatchUnsplitPasses(
+            fixtureFileName,
+            Fixtures.withLineItems(Fixtures.load(fixtureFileName), 25)
+        );
+    }
+
+    private void assertSplitPassesMatchUnsplitPasses(
+        @NonNull String fixtureFileName,
+        byte @NonNull [] payload
+    ) throws Exception {
+        var unsplitRuleSetRegistry = unsplitRuleSetRegistry();
+        var document = build(ruleSetRegistry, payload);
+        var unsplitDocument = build(unsplitRuleSetRegistry, payload);
+        var xmlSyntaxType = syntaxOf(document);
+
+        for (SchematronRuleSet ruleSet : ruleSets(
+            fixtureFileName,
+            xmlSyntaxType
+        )) {
+            assertEquals(
+                report(unsplitRuleSetRegistry, ruleSet, unsplitDocument),
+                report(ruleSetRegistry, ruleSet, document),
+                ruleSet.name()
+            );
+        }
+    }
+
+    /**
+     * @return a registry of the same rule sets which never splits passes,
+     * compiled once per test class
+     */
+    private @NonNull ISchematronRuleSetRegistry unsplitRuleSetRegistry() {
+        var unsplitRuleSetRegistry = this.unsplitRuleSetRegistry;
+
+        if (unsplitRuleSetRegistry == null) {
+            unsplitRuleSetRegistry =
+                new SchematronRuleSetRegistry(
+                    withoutParallelLineItems(config),
+                    metrics,
+                    ruleProfiler
+                );
+            this.unsplitRuleSetRegistry = unsplitRuleSetRegistry;
+        }
+
+        return unsplitRuleSetRegistry;
+    }
+
+    private static @NonNull XdmNode build(
+        @NonNull ISchematronRuleSetRegistry ruleSetRegistry,
+        byte @NonNull [] payload
+    ) throws Exception {
+        return ruleSetRegistry
+            .newDocumentBuilder()
+            .build(new StreamSource(new ByteArrayInputStream(payload)));
+    }
+
+    private static @NonNull SchematronReport report(
+        @NonNull ISchematronRuleSetRegistry ruleSetRegistry,
+        @NonNull SchematronRuleSet ruleSet,
+        @NonNull XdmNode document
+    ) throws Exception {
+        return ruleSetRegistry
+            .get(ruleSet)
+            .applySchematronValidation(document, ValidationMode.COMPLETE);
+    }
+
+    /**
+     * @return EN16931 and the rule sets of the profile the fixture belongs to
+     */
+    private static @NonNull List<SchematronRuleSet> ruleSets(
+        @NonNull String fixtureFileName,
+        @NonNull XMLSyntaxType xmlSyntaxType
+    ) {
+        var directory = fixtureFileName.substring(
+            0,
+            fixtureFileName.indexOf('/')
+        );
+        var family =
+            switch (directory) {
+                case "FacturX" -> "factur-x";
+                case "Peppol" -> "Peppol BIS";
+                case "XRechnung" -> "XRechnung";
+                default -> "EN16931";
+            };
+
+        return Arrays
+            .stream(SchematronRuleSet.values())
+            .filter(ruleSet -> ruleSet.syntax() == xmlSyntaxType)
+            .filter(ruleSet ->
+                ruleSet.family().equals("EN16931") ||
+                ruleSet.family().equals(family)
+            )
+            .toList();
+    }
+
+    private static @NonNull XMLSyntaxType syntaxOf(@NonNull XdmNode document) {
+        var root = document
+            .axisIterator(Axis.CHILD)
+            .stream()
+            .filter(node -> node.getNodeKind() == XdmNodeKind.ELEMENT)
+            .findFirst()
+            .orElseThrow();
+
+        return root.getNodeName().getLocalName().equals("CrossIndustryInvoice")
+            ? XMLSyntaxType.CII
+            : XMLSyntaxType.UBL;
+    }
+
+    /**
+     * @return the given config with passes never split by line items
+     */
+    private static @NonNull IApplicationConfig withoutParallelLineItems(
+        @NonNull IApplicationConfig config
+    ) {
+        var parallelLineItems = proxy(
+            IApplicationConfig.ParallelLineItems.class,
+            config.validation().parallelLineItems(),
+            "enabled",
+            false
+        );
+        var validation = proxy(
+            IApplicationConfig.Validation.class,
+            config.validation(),
+            "parallelLineItems",
+            parallelLineItems
+        );
+
+        return proxy(IApplicationConfig.class, config, "validation", validation);
+    }
+
+    /**
+     * @return a proxy of the given target which answers the given method with
+     * the given value
+     */
+    private static <T> @NonNull T proxy(
+        @NonNull Class<T> type,
+        @NonNull T target,
+        @NonNull String methodName,
+        @NonNull Object value
+    ) {
+        return type.cast(
+            Proxy.newProxyInstance(
+                SplitPassesTest.class.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, arguments) ->
+                    method.getName().equals(methodName)
+                        ? value
+                        : invoke(method, target, arguments)
+            )
+        );
+    }
+
+    private static Object invoke(
+        Method method,
+        Object target,
+        Object[] arguments
+    ) throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException exception) {
+            throw Objects.requireNonNull(exception.getCause());
+        }
+    }
+
+    /**
+     * @return the config overrides splitting every pass over an invoice with
+     * a line item into chunks of the given size
+     */
+    static @NonNull Map<String, String> splitPasses(int chunkSize) {
+        return Map.of(
+            "app.validation.parallel-line-items.enabled",
+            "true",
+            "app.validation.parallel-line-items.min-line-items",
+            "1",
+            "app.validation.parallel-line-items.chunk-size",
+            Integer.toString(chunkSize)
+        );
+    }
+}
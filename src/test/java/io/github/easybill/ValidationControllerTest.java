@@ -1,16 +1,26 @@
 package io.github.easybill;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import io.github.easybill.Enums.XMLSyntaxType;
 import io.github.easybill.Enums.XmlProfileType;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -43,6 +53,18 @@ class ValidationControllerTest {
             .body("error", equalTo("The provided XML is not valid"));
     }
 
+    @Test
+    void testValidationEndpointWithNonInvoiceRootElement() {
+        given()
+            .body("<Order>" + "<Line/>".repeat(10_000) + "</Order>")
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(422)
+            .body("error", equalTo("The provided XML is not valid"));
+    }
+
     @Test
     void testUnknownProfileXml() throws IOException {
         given()
@@ -75,6 +97,22 @@ class ValidationControllerTest {
             .body("validation_results[0].errors", not(empty()));
     }
 
+    @Test
+    void testValidationEndpointInFailFastMode() throws IOException {
+        given()
+            .body(loadFixtureFileAsStream("Invalid/Invalid_004.xml"))
+            .contentType(ContentType.XML)
+            .queryParam("fail_fast", true)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("meta.fail_fast", equalTo(true))
+            .body("is_valid", equalTo(false))
+            .body("validation_results[0].errors", hasSize(1));
+    }
+
     static Stream<Arguments> providerValuesForDifferentEncodings() {
         return Stream.of(
             Arguments.of("Peppol/Peppol_008.xml"),
@@ -400,6 +438,215 @@ class ValidationControllerTest {
             .body("is_valid", equalTo(false));
     }
 
+    @Test
+    void testBatchValidationEndpointWithMultipartPayload() throws IOException {
+        var response = given()
+            .multiPart(
+                "files",
+                "EN16931_001.xml",
+                loadFixtureFileAsStream("EN16931/EN16931_001.xml"),
+                "application/xml"
+            )
+            .multiPart(
+                "files",
+                "Invalid_003.xml",
+                loadFixtureFileAsStream("Invalid/Invalid_003.xml"),
+                "application/xml"
+            )
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .contentType("application/x-ndjson")
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatusesFromBatchResponse(response),
+            equalTo(Map.of("EN16931_001.xml", 200, "Invalid_003.xml", 422))
+        );
+    }
+
+    @Test
+    void testBatchValidationEndpointWithZipPayload() throws IOException {
+        var zip = new ByteArrayOutputStream();
+
+        try (var zipOutputStream = new ZipOutputStream(zip)) {
+            for (String fixtureFileName : new String[] {
+                "EN16931/EN16931_025.xml",
+                "Peppol/Peppol_001.xml",
+                "XRechnung/XRechnung_004.xml",
+            }) {
+                zipOutputStream.putNextEntry(new ZipEntry(fixtureFileName));
+
+                try (
+                    var inputStream = loadFixtureFileAsStream(fixtureFileName)
+                ) {
+                    inputStream.transferTo(zipOutputStream);
+                }
+
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        var response = given()
+            .body(zip.toByteArray())
+            .contentType("application/zip")
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .contentType("application/x-ndjson")
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatusesFromBatchResponse(response),
+            equalTo(
+                Map.of(
+                    "EN16931/EN16931_025.xml",
+                    200,
+                    "Peppol/Peppol_001.xml",
+                    200,
+                    "XRechnung/XRechnung_004.xml",
+                    422
+                )
+            )
+        );
+    }
+
+    @Test
+    void testBatchValidationEndpointWithMultipartPayloadBeyondTenMegabytes()
+        throws IOException {
+        var request = given()
+            .multiPart(
+                "files",
+                "EN16931_001.xml",
+                loadFixtureFileAsStream("EN16931/EN16931_001.xml"),
+                "application/xml"
+            );
+
+        for (int i = 1; i <= 3; i++) {
+            request.multiPart(
+                "files",
+                "filler-" + i + ".xml",
+                createFillerDocument(),
+                "application/xml"
+            );
+        }
+
+        var response = request
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatusesFromBatchResponse(response),
+            equalTo(
+                Map.of(
+                    "EN16931_001.xml",
+                    200,
+                    "filler-1.xml",
+                    422,
+                    "filler-2.xml",
+                    422,
+                    "filler-3.xml",
+                    422
+                )
+            )
+        );
+    }
+
+    @Test
+    void testBatchValidationEndpointWithZipPayloadBeyondTenMegabytes()
+        throws IOException {
+        var zip = new ByteArrayOutputStream();
+
+        try (var zipOutputStream = new ZipOutputStream(zip)) {
+            // stored rather than deflated, so the archive itself is as large
+            zipOutputStream.setMethod(ZipOutputStream.STORED);
+
+            for (int i = 1; i <= 3; i++) {
+                var filler = createFillerDocument();
+                var entry = new ZipEntry("filler-" + i + ".xml");
+                var crc = new CRC32();
+
+                crc.update(filler);
+                entry.setSize(filler.length);
+                entry.setCrc(crc.getValue());
+
+                zipOutputStream.putNextEntry(entry);
+                zipOutputStream.write(filler);
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        assertThat(zip.size(), greaterThan(10 * 1024 * 1024));
+
+        var response = given()
+            .body(zip.toByteArray())
+            .contentType("application/zip")
+            .when()
+            .post("/validation/batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        assertThat(
+            collectStatusesFromBatchResponse(response),
+            equalTo(
+                Map.of(
+                    "filler-1.xml",
+                    422,
+                    "filler-2.xml",
+                    422,
+                    "filler-3.xml",
+                    422
+                )
+            )
+        );
+    }
+
+    /**
+     * @return a well-formed document of 4 MiB which is not an invoice, so a
+     * few of them make up a batch beyond the default body size of Quarkus
+     */
+    static byte @NonNull [] createFillerDocument() {
+        var filler = new byte[4 * 1024 * 1024];
+        var start = "<filler>".getBytes(StandardCharsets.UTF_8);
+        var end = "</filler>".getBytes(StandardCharsets.UTF_8);
+
+        Arrays.fill(filler, (byte) ' ');
+        System.arraycopy(start, 0, filler, 0, start.length);
+        System.arraycopy(
+            end,
+            0,
+            filler,
+            filler.length - end.length,
+            end.length
+        );
+
+        return filler;
+    }
+
+    Map<String, Integer> collectStatusesFromBatchResponse(
+        @NonNull String response
+    ) {
+        return response
+            .lines()
+            .map(JsonPath::from)
+            .collect(
+                Collectors.toMap(
+                    line -> line.getString("name"),
+                    line -> line.getInt("status")
+                )
+            );
+    }
+
     InputStream loadFixtureFileAsStream(@NonNull String fixtureFileName)
         throws IOException {
         return Objects
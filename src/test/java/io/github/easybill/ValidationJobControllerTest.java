@@ -0,0 +1,81 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class ValidationJobControllerTest {
+
+    @Test
+    void testJobLifecycle() throws Exception {
+        var location = given()
+            .body(loadFixtureFileAsStream("EN16931/EN16931_001.xml"))
+            .contentType(ContentType.XML)
+            .when()
+            .post("/validation/jobs")
+            .then()
+            .statusCode(202)
+            .body("id", notNullValue())
+            .body("state", equalTo("PENDING"))
+            .extract()
+            .header("Location");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+
+        while (
+            !given()
+                .when()
+                .get(location)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("state")
+                .equals("COMPLETED")
+        ) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The job did not complete in time");
+            }
+
+            Thread.sleep(100);
+        }
+
+        given()
+            .when()
+            .get(location + "/result")
+            .then()
+            .statusCode(200)
+            .body("is_valid", equalTo(true))
+            .body("meta.xml_profile_type", notNullValue());
+    }
+
+    @Test
+    void testUnknownJob() {
+        given()
+            .when()
+            .get("/validation/jobs/unknown/result")
+            .then()
+            .statusCode(404);
+    }
+
+    InputStream loadFixtureFileAsStream(@NonNull String fixtureFileName)
+        throws IOException {
+        return Objects
+            .requireNonNull(
+                Thread
+                    .currentThread()
+                    .getContextClassLoader()
+                    .getResource(fixtureFileName)
+            )
+            .openStream();
+    }
+}
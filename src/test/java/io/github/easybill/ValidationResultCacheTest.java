@@ -0,0 +1,93 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import java.io.IOException;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(ValidationResultCacheTest.CacheEnabled.class)
+class ValidationResultCacheTest {
+
+    @Test
+    void testIdenticalPayloadIsServedFromTheCache() throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_025.xml");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        var first = validate(payload, false);
+        var second = validate(payload, false);
+
+        assertThat(second, equalTo(first));
+        assertThat(cacheGets("hit"), equalTo(hits + 1));
+        assertThat(cacheGets("miss"), equalTo(misses + 1));
+    }
+
+    @Test
+    void testFailFastIsPartOfTheKey() throws IOException {
+        var payload = Fixtures.load("EN16931/EN16931_021.xml");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        validate(payload, false);
+        validate(payload, true);
+
+        assertThat(cacheGets("hit"), equalTo(hits));
+        assertThat(cacheGets("miss"), equalTo(misses + 2));
+    }
+
+    private static @NonNull String validate(
+        byte @NonNull [] payload,
+        boolean failFast
+    ) {
+        return given()
+            .body(payload)
+            .contentType(ContentType.XML)
+            .queryParam("fail_fast", failFast)
+            .when()
+            .post("/validation")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+    }
+
+    /**
+     * @return the value of {@code cache_gets_total} of the result cache for
+     * the given result, which fails if the counter is not exposed
+     */
+    private static double cacheGets(@NonNull String result) {
+        return given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString()
+            .lines()
+            .filter(line -> line.startsWith("cache_gets_total{"))
+            .filter(line -> line.contains("cache=\"validation-results\""))
+            .filter(line -> line.contains("result=\"" + result + "\""))
+            .mapToDouble(line ->
+                Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1))
+            )
+            .findFirst()
+            .orElseThrow();
+    }
+
+    public static final class CacheEnabled implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("app.validation.cache.enabled", "true");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.easybill;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import io.github.easybill.Contracts.IValidatorRouter;
+import io.github.easybill.Contracts.IWarmUpService;
+import io.github.easybill.Dtos.ValidatorRoute;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(WarmUpTest.SingleIteration.class)
+class WarmUpTest {
+
+    @Inject
+    IValidatorRouter validatorRouter;
+
+    @Inject
+    IWarmUpService warmUpService;
+
+    @Test
+    void testSampleOfEveryRouteIsValidated() throws InterruptedException {
+        awaitWarmUp();
+
+        assertThat(
+            warmUpService.getRouteResults(),
+            equalTo(
+                validatorRouter
+                    .getRoutes()
+                    .stream()
+                    .collect(
+                        Collectors.toMap(Function.identity(), route -> true)
+                    )
+            )
+        );
+    }
+
+    @Test
+    void testReadinessListsTheWarmedUpRoutes() throws InterruptedException {
+        awaitWarmUp();
+
+        var response = given()
+            .when()
+            .get("/health/ready")
+            .then()
+            .statusCode(200);
+
+        for (ValidatorRoute route : validatorRouter.getRoutes()) {
+            response.body(
+                "checks.find { it.name == 'RuleSets' }.data.'warmUpValidated." +
+                route.xmlProfileType().name() +
+                "_" +
+                route.xmlSyntaxType().name() +
+                "'",
+                equalTo(true)
+            );
+        }
+    }
+
+    private void awaitWarmUp() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+
+        while (!warmUpService.isFinished()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The warm-up did not finish in time");
+            }
+
+            Thread.sleep(100);
+        }
+    }
+
+    public static final class SingleIteration implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("app.validation.warm-up.iterations", "1");
+        }
+    }
+}